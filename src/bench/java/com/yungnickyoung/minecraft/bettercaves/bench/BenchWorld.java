@@ -0,0 +1,52 @@
+package com.yungnickyoung.minecraft.bettercaves.bench;
+
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
+import net.minecraft.init.Biomes;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.WorldInfo;
+
+/**
+ * Minimal overworld used to drive the carvers without a server.
+ * Nothing is ever loaded or saved - the carvers only need the seed, sea level, dimension and biomes.
+ * Also serves as the carvers' biome view, since World already provides everything IBiomeView needs.
+ *
+ * Biomes are laid out in bands 128 blocks wide along the x-axis, with every fourth band being ocean,
+ * so that flooded caves and ocean borders are exercised as well.
+ */
+public class BenchWorld extends World implements IBiomeView {
+    public BenchWorld(long seed) {
+        super(
+            null,
+            new WorldInfo(new WorldSettings(seed, GameType.SURVIVAL, false, false, WorldType.DEFAULT), "bench"),
+            new WorldProviderSurface(),
+            new Profiler(),
+            false
+        );
+    }
+
+    @Override
+    public Biome getBiome(BlockPos pos) {
+        GenerationStats.increment(GenerationCounter.BIOME_LOOKUPS);
+        return Math.floorMod(pos.getX() >> 7, 4) == 0 ? Biomes.OCEAN : Biomes.PLAINS;
+    }
+
+    @Override
+    protected IChunkProvider createChunkProvider() {
+        return null;
+    }
+
+    @Override
+    protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+        return false;
+    }
+}
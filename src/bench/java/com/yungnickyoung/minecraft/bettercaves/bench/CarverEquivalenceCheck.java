@@ -0,0 +1,169 @@
+package com.yungnickyoung.minecraft.bettercaves.bench;
+
+import com.yungnickyoung.minecraft.bettercaves.world.carver.ravine.RavineCarver;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.ravine.RavineCarverBuilder;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.ravine.TunnelNeighborhood;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla.VanillaCaveCarver;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla.VanillaCaveCarverBuilder;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that the vanilla cave and ravine carvers carve exactly the same blocks as vanilla.
+ *
+ * The carvers trace tunnels once and replay them, skip source chunks and tunnels that can't reach the chunk being
+ * carved, and dig whole columns at a time. None of that may change a single block. This carves the same chunks with
+ * each carver and with a plain port of the vanilla code ({@link ReferenceVanillaCaveCarver},
+ * {@link ReferenceRavineCarver}), both with and without the trace caches, and compares every block.
+ *
+ * Unlike {@link GoldenOutputCheck}, nothing needs to be recorded beforehand, so this can be run on any commit.
+ *
+ * Usage: CarverEquivalenceCheck
+ * Exits with a non-zero status if any block differs.
+ */
+public class CarverEquivalenceCheck {
+    private static final long[] SEEDS = {0L, 12345L, -8837466011349285547L};
+
+    /**
+     * Chunks to carve, as {x, z} pairs, in the order they are carved. Neighboring chunks are carved one after another
+     * so that the trace caches are hit. The areas cover negative coordinates, the border between an ocean and a plains
+     * band of the {@link BenchWorld}, and a corner where four cave start table regions meet.
+     */
+    private static final int[][] CHUNKS;
+
+    static {
+        List<int[]> chunks = new ArrayList<>();
+        for (int x = -3; x < 3; x++)
+            for (int z = -3; z < 3; z++)
+                chunks.add(new int[]{x, z});
+        for (int x = 30; x < 34; x++)
+            for (int z = -34; z < -30; z++)
+                chunks.add(new int[]{x, z});
+        chunks.add(new int[]{1000, -1000});
+        chunks.add(new int[]{-31250, 31249});
+        CHUNKS = chunks.toArray(new int[0][]);
+    }
+
+    private static int mismatches = 0;
+
+    public static void main(String[] args) {
+        Bootstrap.register();
+
+        List<VanillaCaveCarverBuilder> caveConfigs = new ArrayList<>();
+        caveConfigs.add(new VanillaCaveCarverBuilder().bottomY(8).topY(128).density(15).liquidAltitude(10).replaceGravel(true).floodedUnderground(true));
+        caveConfigs.add(new VanillaCaveCarverBuilder().bottomY(1).topY(80).density(100).liquidAltitude(10).replaceGravel(false).floodedUnderground(false));
+        caveConfigs.add(new VanillaCaveCarverBuilder().bottomY(40).topY(128).density(50).liquidAltitude(10).debugVisualizerEnabled(true).debugVisualizerBlock(Blocks.STONE.getDefaultState()));
+
+        List<RavineCarverBuilder> ravineConfigs = new ArrayList<>();
+        ravineConfigs.add(new RavineCarverBuilder().liquidAltitude(10).replaceGravel(true).floodedRavines(true));
+        ravineConfigs.add(new RavineCarverBuilder().liquidAltitude(10).replaceGravel(false).floodedRavines(false));
+
+        int cases = 0;
+        for (long seed : SEEDS) {
+            BenchWorld world = new BenchWorld(seed);
+
+            for (int config = 0; config < caveConfigs.size(); config++) {
+                VanillaCaveCarverBuilder builder = caveConfigs.get(config);
+                ReferenceVanillaCaveCarver reference = new ReferenceVanillaCaveCarver(builder);
+                VanillaCaveCarver cached = builder.traceCacheSize(64).build();
+                VanillaCaveCarver uncached = builder.traceCacheSize(0).build();
+
+                for (int[] chunk : CHUNKS) {
+                    IBlockState[][] liquidBlocks = createLiquidBlocks(seed, chunk[0], chunk[1]);
+                    boolean[][] carvingMask = createCarvingMask(seed, chunk[0], chunk[1], config == 1);
+
+                    for (boolean addRooms : new boolean[]{true, false}) {
+                        ChunkPrimer expected = SyntheticTerrain.createPrimer();
+                        reference.generate(seed, world, chunk[0], chunk[1], expected, addRooms, liquidBlocks, carvingMask);
+
+                        ChunkPrimer actual = SyntheticTerrain.createPrimer();
+                        cached.generate(seed, world, chunk[0], chunk[1], actual, addRooms, liquidBlocks, carvingMask);
+                        compare("caves " + config + " cached rooms=" + addRooms, seed, chunk, expected, actual);
+
+                        actual = SyntheticTerrain.createPrimer();
+                        uncached.generate(seed, world, chunk[0], chunk[1], actual, addRooms, liquidBlocks, carvingMask);
+                        compare("caves " + config + " uncached rooms=" + addRooms, seed, chunk, expected, actual);
+                        cases += 2;
+                    }
+                }
+            }
+
+            for (int config = 0; config < ravineConfigs.size(); config++) {
+                RavineCarverBuilder builder = ravineConfigs.get(config);
+                ReferenceRavineCarver reference = new ReferenceRavineCarver(builder);
+                RavineCarver cached = builder.traceCacheSize(64).build();
+                RavineCarver uncached = builder.traceCacheSize(0).build();
+
+                for (int[] chunk : CHUNKS) {
+                    IBlockState[][] liquidBlocks = createLiquidBlocks(seed, chunk[0], chunk[1]);
+
+                    ChunkPrimer expected = SyntheticTerrain.createPrimer();
+                    reference.generate(seed, world, chunk[0], chunk[1], expected, liquidBlocks);
+
+                    ChunkPrimer actual = SyntheticTerrain.createPrimer();
+                    cached.generate(new TunnelNeighborhood(seed, chunk[0], chunk[1]), world, actual, liquidBlocks);
+                    compare("ravines " + config + " cached", seed, chunk, expected, actual);
+
+                    actual = SyntheticTerrain.createPrimer();
+                    uncached.generate(new TunnelNeighborhood(seed, chunk[0], chunk[1]), world, actual, liquidBlocks);
+                    compare("ravines " + config + " uncached", seed, chunk, expected, actual);
+                    cases += 2;
+                }
+            }
+        }
+
+        if (mismatches > 0) {
+            System.err.printf("%d of %d carved chunks differ from the reference carvers%n", mismatches, cases);
+            System.exit(1);
+        }
+        System.out.printf("All %d carved chunks match the reference carvers%n", cases);
+    }
+
+    /**
+     * @return Liquid blocks for a chunk: mostly lava or water, with some buffer columns between liquid regions
+     */
+    private static IBlockState[][] createLiquidBlocks(long seed, int chunkX, int chunkZ) {
+        Random random = new Random(seed ^ chunkX * 341873128712L ^ chunkZ * 132897987541L);
+        IBlockState[][] liquidBlocks = new IBlockState[16][16];
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int roll = random.nextInt(5);
+                liquidBlocks[x][z] = roll == 0 ? null : roll < 3 ? Blocks.LAVA.getDefaultState() : Blocks.WATER.getDefaultState();
+            }
+        }
+        return liquidBlocks;
+    }
+
+    /**
+     * @param partial Whether to leave some columns out of the mask, as when other carvers have already claimed them
+     */
+    private static boolean[][] createCarvingMask(long seed, int chunkX, int chunkZ, boolean partial) {
+        Random random = new Random(seed ^ chunkX * 49632L ^ chunkZ * 325176L);
+        boolean[][] carvingMask = new boolean[16][16];
+        for (int x = 0; x < 16; x++)
+            for (int z = 0; z < 16; z++)
+                carvingMask[x][z] = !partial || random.nextInt(3) != 0;
+        return carvingMask;
+    }
+
+    private static void compare(String name, long seed, int[] chunk, ChunkPrimer expected, ChunkPrimer actual) {
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = 0; y < 256; y++) {
+                    if (expected.getBlockState(x, y, z) != actual.getBlockState(x, y, z)) {
+                        System.err.printf("MISMATCH %s, seed %d, chunk %d %d: first difference at %d %d %d, expected %s, got %s%n",
+                            name, seed, chunk[0], chunk[1], x, y, z, expected.getBlockState(x, y, z), actual.getBlockState(x, y, z));
+                        mismatches++;
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.yungnickyoung.minecraft.bettercaves.bench;
+
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.world.ChunkCarverController;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Standalone chunk generation benchmark.
+ * Carves N synthetic chunks across T worker threads of a work-stealing pool, using the same
+ * ChunkCarverController as MapGenBetterCaves but against a {@link BenchWorld} instead of a running server.
+ *
+ * Usage: ChunkGenBenchmark [chunks] [threads] [seed] [warmupChunks]
+ *
+ * Reports throughput, allocation rate and per-chunk latency percentiles.
+ */
+public class ChunkGenBenchmark {
+    /** Chunk x-offset of the warmup area, far enough away that it doesn't share cached data with the measured area */
+    private static final int WARMUP_OFFSET = 100000;
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int numChunks = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int numThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        int warmupChunks = args.length > 3 ? Integer.parseInt(args[3]) : numChunks / 4;
+
+        Bootstrap.register();
+
+        BenchWorld world = new BenchWorld(seed);
+        ConfigHolder config = new ConfigHolder();
+
+        // A single controller is shared by all worker threads, just like in a real dimension
+        ChunkCarverController controller = new ChunkCarverController(world, config);
+
+        ForkJoinPool pool = new ForkJoinPool(numThreads);
+        try {
+            System.out.printf("Warming up with %d chunks...%n", warmupChunks);
+            run(pool, controller, world, warmupChunks, WARMUP_OFFSET);
+
+            System.out.printf("Generating %d chunks on %d threads (seed %d)...%n", numChunks, numThreads, seed);
+            Result result = run(pool, controller, world, numChunks, 0);
+            result.print();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Result run(ForkJoinPool pool, ChunkCarverController controller, BenchWorld world, int numChunks, int offsetX) {
+        Result result = new Result(numChunks);
+        int side = (int) Math.ceil(Math.sqrt(numChunks));
+
+        long start = System.nanoTime();
+        pool.invoke(new ChunkRangeTask(controller, world, result, side, offsetX, 0, numChunks));
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Recursively splits a range of chunk indices until single chunks remain, so idle workers can steal work.
+     */
+    private static class ChunkRangeTask extends RecursiveAction {
+        private final ChunkCarverController controller;
+        private final BenchWorld world;
+        private final Result result;
+        private final int side, offsetX, from, to;
+
+        ChunkRangeTask(ChunkCarverController controller, BenchWorld world, Result result, int side, int offsetX, int from, int to) {
+            this.controller = controller;
+            this.world = world;
+            this.result = result;
+            this.side = side;
+            this.offsetX = offsetX;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(
+                    new ChunkRangeTask(controller, world, result, side, offsetX, from, mid),
+                    new ChunkRangeTask(controller, world, result, side, offsetX, mid, to)
+                );
+                return;
+            }
+
+            ChunkPrimer primer = SyntheticTerrain.createPrimer();
+
+            long threadID = Thread.currentThread().getId();
+            long allocatedBefore = THREAD_BEAN.getThreadAllocatedBytes(threadID);
+            long start = System.nanoTime();
+
+            controller.carveChunk(offsetX + from % side, from / side, primer, world);
+
+            result.chunkNanos[from] = System.nanoTime() - start;
+            result.allocatedBytes.add(THREAD_BEAN.getThreadAllocatedBytes(threadID) - allocatedBefore);
+        }
+    }
+
+    private static class Result {
+        final long[] chunkNanos;
+        final LongAdder allocatedBytes = new LongAdder();
+        long elapsedNanos;
+
+        Result(int numChunks) {
+            this.chunkNanos = new long[numChunks];
+        }
+
+        void print() {
+            int numChunks = chunkNanos.length;
+            double seconds = elapsedNanos / 1e9;
+            double allocatedMB = allocatedBytes.sum() / (1024.0 * 1024.0);
+
+            long[] sorted = chunkNanos.clone();
+            Arrays.sort(sorted);
+
+            System.out.printf("Throughput:  %.1f chunks/s (%d chunks in %.2f s)%n", numChunks / seconds, numChunks, seconds);
+            System.out.printf("Allocation:  %.1f MB/s, %.1f KB/chunk (%.1f MB total)%n",
+                allocatedMB / seconds, allocatedMB * 1024 / numChunks, allocatedMB);
+            System.out.printf("Latency:     p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                percentileMillis(sorted, .50), percentileMillis(sorted, .99), sorted[numChunks - 1] / 1e6);
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.yungnickyoung.minecraft.bettercaves.bench;
+
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.world.ChunkCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.WaterRegionController;
+import net.minecraft.block.Block;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Golden-output regression check for chunk carving.
+ * Carves a fixed set of chunks for fixed seeds under each preset, hashes the resulting primer contents,
+ * and compares the hashes against a checked-in golden file. Any change to carving output, including changes
+ * that only affect chunk borders, shows up as a mismatch.
+ *
+ * Usage: GoldenOutputCheck <check|record> [goldenFile]
+ *
+ * {@code record} overwrites the golden file with the current output. Only do this for intentional changes to
+ * world generation. {@code check} exits with a non-zero status if any hash differs or is missing.
+ *
+ * The golden file has to be recorded from output known to be right, so it is recorded from the baseline, before the
+ * carver changes. Hashes recorded later would only show that output hasn't changed since then. Recording needs the
+ * Minecraft and Forge jars, so it is done in a Forge development environment. A missing golden file fails the check.
+ */
+public class GoldenOutputCheck {
+    private static final String[] PRESETS = {
+        Presets.DEFAULT, "default-with-nether", "default-with-nether/DIM-1", "vanilla-plus", "vanilla-plus-with-caverns"
+    };
+
+    private static final long[] SEEDS = {0L, 12345L, -8837466011349285547L};
+
+    /**
+     * Chunks to carve, as {x, z} pairs. A 4x4 area around the origin covers negative coordinates and the
+     * border between an ocean and a plains band of the {@link BenchWorld}; the rest are far from the origin.
+     */
+    private static final int[][] CHUNKS;
+
+    static {
+        List<int[]> chunks = new ArrayList<>();
+        for (int x = -2; x < 2; x++)
+            for (int z = -2; z < 2; z++)
+                chunks.add(new int[]{x, z});
+        chunks.add(new int[]{1000, -1000});
+        chunks.add(new int[]{-31250, 31249});
+        CHUNKS = chunks.toArray(new int[0][]);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || !(args[0].equals("check") || args[0].equals("record"))) {
+            System.err.println("Usage: GoldenOutputCheck <check|record> [goldenFile]");
+            System.exit(2);
+        }
+        boolean record = args[0].equals("record");
+        File goldenFile = new File(args.length > 1 ? args[1] : "golden/chunk-hashes.txt");
+
+        Bootstrap.register();
+        Map<String, String> hashes = computeHashes();
+
+        if (record) {
+            writeGoldenFile(goldenFile, hashes);
+            System.out.printf("Recorded %d chunk hashes to %s%n", hashes.size(), goldenFile.getPath());
+            return;
+        }
+
+        if (!goldenFile.isFile()) {
+            System.err.println("Golden file not found: " + goldenFile.getPath() + ". Record it with gradlew recordGoldenHashes from the baseline, before the carver changes.");
+            System.exit(1);
+        }
+
+        Map<String, String> golden = readGoldenFile(goldenFile);
+        int mismatches = 0;
+        for (Map.Entry<String, String> entry : hashes.entrySet()) {
+            String expected = golden.get(entry.getKey());
+            if (!entry.getValue().equals(expected)) {
+                System.err.printf("MISMATCH %s: expected %s, got %s%n", entry.getKey(), expected == null ? "<missing>" : expected, entry.getValue());
+                mismatches++;
+            }
+        }
+
+        if (mismatches > 0) {
+            System.err.printf("%d of %d chunk hashes differ from %s%n", mismatches, hashes.size(), goldenFile.getPath());
+            System.exit(1);
+        }
+        System.out.printf("All %d chunk hashes match %s%n", hashes.size(), goldenFile.getPath());
+    }
+
+    /**
+     * @return Hash of every case, keyed by {@code <preset> <seed> <chunkX> <chunkZ>}, in a fixed order
+     */
+    private static Map<String, String> computeHashes() {
+        Map<String, String> hashes = new LinkedHashMap<>();
+        for (String preset : PRESETS) {
+            ConfigHolder config = Presets.load(preset);
+            for (long seed : SEEDS) {
+                BenchWorld world = new BenchWorld(seed);
+
+                // Make sure the water region controller is built from this seed and config
+                WaterRegionController.removeSharedController(world.provider.getDimension());
+                ChunkCarverController controller = new ChunkCarverController(world, config);
+
+                for (int[] chunk : CHUNKS) {
+                    ChunkPrimer primer = SyntheticTerrain.createPrimer();
+                    controller.carveChunk(chunk[0], chunk[1], primer, world);
+                    hashes.put(preset + " " + seed + " " + chunk[0] + " " + chunk[1], String.format("%016x", hashPrimer(primer)));
+                }
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of every block state ID in a primer, in x, z, y order.
+     * State IDs are stable for vanilla blocks, so the hash does not depend on the JVM or the run.
+     */
+    private static long hashPrimer(ChunkPrimer primer) {
+        long hash = 0xcbf29ce484222325L;
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = 0; y < 256; y++) {
+                    int id = Block.getStateId(primer.getBlockState(x, y, z));
+                    for (int i = 0; i < 4; i++) {
+                        hash ^= (id >>> (i * 8)) & 0xFF;
+                        hash *= 0x100000001b3L;
+                    }
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static Map<String, String> readGoldenFile(File file) throws IOException {
+        Map<String, String> golden = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+            int split = line.lastIndexOf(' ');
+            golden.put(line.substring(0, split), line.substring(split + 1));
+        }
+        return golden;
+    }
+
+    private static void writeGoldenFile(File file, Map<String, String> hashes) throws IOException {
+        if (file.getParentFile() != null && !file.getParentFile().exists() && !file.getParentFile().mkdirs())
+            throw new IOException("could not create directory " + file.getParentFile());
+
+        List<String> lines = new ArrayList<>();
+        lines.add("# Better Caves golden chunk hashes. Regenerate with: gradlew recordGoldenHashes");
+        lines.add("# <preset> <seed> <chunkX> <chunkZ> <hash>");
+        hashes.forEach((key, hash) -> lines.add(key + " " + hash));
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    }
+}
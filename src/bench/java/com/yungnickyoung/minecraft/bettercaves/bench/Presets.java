@@ -0,0 +1,49 @@
+package com.yungnickyoung.minecraft.bettercaves.bench;
+
+import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
+import com.yungnickyoung.minecraft.bettercaves.config.io.ConfigLoader;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+
+import java.io.File;
+
+/**
+ * Loads the config presets shipped in {@code presets/} for benchmarks and regression checks.
+ *
+ * The preset directory is read from the {@code bettercaves.presetDir} system property, which the Gradle tasks set.
+ * Preset names of the form {@code <preset>/DIM<id>} load that preset's dimension-specific config instead of its
+ * global one. The name {@code default} refers to the built-in default config.
+ * This class may not be instantiated - all members are {@code public} and {@code static},
+ * and as such may be accessed freely.
+ */
+public class Presets {
+    private Presets() {} // Private constructor prevents instantiation
+
+    /** Preset name referring to the built-in default config */
+    public static final String DEFAULT = "default";
+
+    /**
+     * @return The config for a preset
+     * @throws IllegalStateException if the preset's config file does not exist
+     */
+    public static ConfigHolder load(String preset) {
+        if (DEFAULT.equals(preset))
+            return new ConfigHolder();
+        return ConfigLoader.parseConfigFromFile(getPresetFile(preset));
+    }
+
+    /**
+     * @return The config file for a preset
+     * @throws IllegalStateException if the file does not exist
+     */
+    public static File getPresetFile(String preset) {
+        File presetDir = new File(System.getProperty("bettercaves.presetDir", "presets"));
+        String[] parts = preset.split("/");
+        File dir = new File(presetDir, parts[0]);
+        File file = parts.length > 1
+            ? new File(new File(dir, BCSettings.CUSTOM_CONFIG_PATH), parts[1] + "_config.cfg")
+            : new File(dir, BCSettings.CUSTOM_CONFIG_PATH + ".cfg");
+        if (!file.isFile())
+            throw new IllegalStateException("Preset config not found: " + file.getAbsolutePath());
+        return file;
+    }
+}
@@ -0,0 +1,208 @@
+package com.yungnickyoung.minecraft.bettercaves.bench;
+
+import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.ravine.RavineCarverBuilder;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraftforge.common.BiomeDictionary;
+
+import java.util.Random;
+
+/**
+ * Ravines as they were carved before the ravine carver was split out of MapGenRavine, kept as a reference for
+ * {@link CarverEquivalenceCheck}.
+ *
+ * This is vanilla's MapGenRavine with MapGenBetterRavine's digBlock override, reading biomes through an
+ * {@link IBiomeView} instead of a World. MapGenBetterRavine disabled vanilla's ocean block check and ignored the top
+ * block flag, so neither is made here.
+ * Do not optimize this class - its only purpose is to be obviously identical to vanilla.
+ */
+public class ReferenceRavineCarver {
+    /** Same as MapGenBase */
+    private final int range = 8;
+    private final Random rand = new Random();
+    private final float[] rs = new float[1024];
+    private IBiomeView biomeView;
+
+    private int liquidAltitude;
+    private boolean
+        isReplaceGravel,
+        isFloodedRavinesEnabled;
+
+    public ReferenceRavineCarver(final RavineCarverBuilder builder) {
+        this.liquidAltitude = builder.getLiquidAltitude();
+        this.isReplaceGravel = builder.isReplaceGravel();
+        this.isFloodedRavinesEnabled = builder.isFloodedRavinesEnabled();
+    }
+
+    /**
+     * Calls recursiveGenerate() on all chunks within a certain square range (default 8) of this chunk.
+     */
+    public void generate(long seed, IBiomeView biomeView, int chunkX, int chunkZ, ChunkPrimer primer, IBlockState[][] liquidBlocks) {
+        int chunkRadius = this.range;
+        this.biomeView = biomeView;
+        this.rand.setSeed(seed);
+        long j = this.rand.nextLong();
+        long k = this.rand.nextLong();
+        for (int currChunkX = chunkX - chunkRadius; currChunkX <= chunkX + chunkRadius; ++currChunkX) {
+            for (int currChunkZ = chunkZ - chunkRadius; currChunkZ <= chunkZ + chunkRadius; ++currChunkZ) {
+                long j1 = (long) currChunkX * j;
+                long k1 = (long) currChunkZ * k;
+                this.rand.setSeed(j1 ^ k1 ^ seed);
+                this.recursiveGenerate(currChunkX, currChunkZ, chunkX, chunkZ, primer, liquidBlocks);
+            }
+        }
+    }
+
+    private void recursiveGenerate(int chunkX, int chunkZ, int originalX, int originalZ, ChunkPrimer primer, IBlockState[][] liquidBlocks) {
+        if (this.rand.nextInt(50) == 0) {
+            double d0 = chunkX * 16 + this.rand.nextInt(16);
+            double d1 = this.rand.nextInt(this.rand.nextInt(40) + 8) + 20;
+            double d2 = chunkZ * 16 + this.rand.nextInt(16);
+
+            for (int j = 0; j < 1; ++j) {
+                float f = this.rand.nextFloat() * ((float) Math.PI * 2F);
+                float f1 = (this.rand.nextFloat() - 0.5F) * 2.0F / 8.0F;
+                float f2 = (this.rand.nextFloat() * 2.0F + this.rand.nextFloat()) * 2.0F;
+                this.addTunnel(this.rand.nextLong(), originalX, originalZ, primer, d0, d1, d2, f2, f, f1, 0, 0, 3.0D, liquidBlocks);
+            }
+        }
+    }
+
+    private void addTunnel(long seed, int chunkX, int chunkZ, ChunkPrimer primer, double blockX, double blockY, double blockZ, float scale, float leftRightRadian, float upDownRadian, int currentY, int targetY, double scaleHeight, IBlockState[][] liquidBlocks) {
+        Random random = new Random(seed);
+        double d0 = (chunkX * 16 + 8);
+        double d1 = (chunkZ * 16 + 8);
+        float f = 0.0F;
+        float f1 = 0.0F;
+
+        if (targetY <= 0) {
+            int i = this.range * 16 - 16;
+            targetY = i - random.nextInt(i / 4);
+        }
+
+        boolean flag1 = false;
+
+        if (currentY == -1) {
+            currentY = targetY / 2;
+            flag1 = true;
+        }
+
+        float f2 = 1.0F;
+
+        for (int j = 0; j < 256; ++j) {
+            if (j == 0 || random.nextInt(3) == 0) {
+                f2 = 1.0F + random.nextFloat() * random.nextFloat();
+            }
+
+            this.rs[j] = f2 * f2;
+        }
+
+        for (; currentY < targetY; ++currentY) {
+            double d9 = 1.5D + (double) (MathHelper.sin((float) currentY * (float) Math.PI / (float) targetY) * scale);
+            double d2 = d9 * scaleHeight;
+            d9 = d9 * ((double) random.nextFloat() * 0.25D + 0.75D);
+            d2 = d2 * ((double) random.nextFloat() * 0.25D + 0.75D);
+            float f3 = MathHelper.cos(upDownRadian);
+            float f4 = MathHelper.sin(upDownRadian);
+            blockX += MathHelper.cos(leftRightRadian) * f3;
+            blockY += f4;
+            blockZ += MathHelper.sin(leftRightRadian) * f3;
+            upDownRadian = upDownRadian * 0.7F;
+            upDownRadian = upDownRadian + f1 * 0.05F;
+            leftRightRadian += f * 0.05F;
+            f1 = f1 * 0.8F;
+            f = f * 0.5F;
+            f1 = f1 + (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 2.0F;
+            f = f + (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 4.0F;
+
+            if (flag1 || random.nextInt(4) != 0) {
+                double d3 = blockX - d0;
+                double d4 = blockZ - d1;
+                double d5 = targetY - currentY;
+                double d6 = scale + 2.0F + 16.0F;
+
+                if (d3 * d3 + d4 * d4 - d5 * d5 > d6 * d6) {
+                    return;
+                }
+
+                if (blockX >= d0 - 16.0D - d9 * 2.0D && blockZ >= d1 - 16.0D - d9 * 2.0D && blockX <= d0 + 16.0D + d9 * 2.0D && blockZ <= d1 + 16.0D + d9 * 2.0D) {
+                    int k2 = MathHelper.floor(blockX - d9) - chunkX * 16 - 1;
+                    int k = MathHelper.floor(blockX + d9) - chunkX * 16 + 1;
+                    int l2 = MathHelper.floor(blockY - d2) - 1;
+                    int l = MathHelper.floor(blockY + d2) + 1;
+                    int i3 = MathHelper.floor(blockZ - d9) - chunkZ * 16 - 1;
+                    int i1 = MathHelper.floor(blockZ + d9) - chunkZ * 16 + 1;
+
+                    if (k2 < 0) {
+                        k2 = 0;
+                    }
+
+                    if (k > 16) {
+                        k = 16;
+                    }
+
+                    if (l2 < 1) {
+                        l2 = 1;
+                    }
+
+                    if (l > 248) {
+                        l = 248;
+                    }
+
+                    if (i3 < 0) {
+                        i3 = 0;
+                    }
+
+                    if (i1 > 16) {
+                        i1 = 16;
+                    }
+
+                    for (int j3 = k2; j3 < k; ++j3) {
+                        double d10 = ((double) (j3 + chunkX * 16) + 0.5D - blockX) / d9;
+
+                        for (int i2 = i3; i2 < i1; ++i2) {
+                            double d7 = ((double) (i2 + chunkZ * 16) + 0.5D - blockZ) / d9;
+
+                            if (d10 * d10 + d7 * d7 < 1.0D) {
+                                for (int j2 = l; j2 > l2; --j2) {
+                                    double d8 = ((double) (j2 - 1) + 0.5D - blockY) / d2;
+
+                                    if ((d10 * d10 + d7 * d7) * (double) this.rs[j2 - 1] + d8 * d8 / 6.0D < 1.0D) {
+                                        this.digBlock(primer, j3, j2, i2, chunkX, chunkZ, liquidBlocks);
+                                    }
+                                }
+                            }
+                        }
+                    }
+
+                    if (flag1) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void digBlock(ChunkPrimer primer, int x, int y, int z, int chunkX, int chunkZ, IBlockState[][] liquidBlocks) {
+        IBlockState liquidBlockState = liquidBlocks[BetterCavesUtils.getLocal(x)][BetterCavesUtils.getLocal(z)];
+        BlockPos pos = new BlockPos(x + chunkX * 16, y, z + chunkZ * 16);
+
+        // Don't dig boundaries between flooded and unflooded openings.
+        boolean flooded = isFloodedRavinesEnabled && BiomeDictionary.hasType(biomeView.getBiome(pos), BiomeDictionary.Type.OCEAN) && y < biomeView.getSeaLevel();
+        if (flooded) {
+            float smoothAmpFactor = BetterCavesUtils.biomeDistanceFactor(biomeView, pos, 2, b -> !BiomeDictionary.hasType(b, BiomeDictionary.Type.OCEAN));
+            if (smoothAmpFactor <= .25f) { // Wall between flooded and normal caves.
+                return;
+            }
+        }
+
+        IBlockState airBlockState = flooded ? Blocks.WATER.getDefaultState() : Blocks.AIR.getDefaultState();
+        CarverUtils.digBlock(biomeView, primer, pos, airBlockState, liquidBlockState, liquidAltitude, isReplaceGravel);
+    }
+}
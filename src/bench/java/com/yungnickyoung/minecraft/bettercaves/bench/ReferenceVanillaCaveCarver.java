@@ -0,0 +1,268 @@
+package com.yungnickyoung.minecraft.bettercaves.bench;
+
+import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla.VanillaCaveCarverBuilder;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraftforge.common.BiomeDictionary;
+
+import java.util.Random;
+
+/**
+ * The vanilla cave carver as it was before tunnels were traced once and cached, kept as a reference for
+ * {@link CarverEquivalenceCheck}.
+ *
+ * This is the MapGenCaves-based carver, unchanged except that it reads biomes through an {@link IBiomeView} instead
+ * of a World and owns the Random and range it used to inherit from MapGenBase. Every tunnel within range is traced
+ * from scratch for every chunk carved, and every block is dug with its own biome lookups.
+ * Do not optimize this class - its only purpose is to be obviously identical to vanilla.
+ */
+public class ReferenceVanillaCaveCarver {
+    /** Same as MapGenBase */
+    private final int range = 8;
+    private final Random rand = new Random();
+    private IBiomeView biomeView;
+
+    private int
+        bottomY,
+        topY,
+        density,
+        liquidAltitude;
+    private IBlockState debugBlock;
+    private boolean
+        isDebugVisualizerEnabled,
+        isReplaceGravel,
+        isFloodedUndergroundEnabled;
+
+    public ReferenceVanillaCaveCarver(final VanillaCaveCarverBuilder builder) {
+        this.bottomY = builder.getBottomY();
+        this.topY = builder.getTopY();
+        this.density = builder.getDensity();
+        this.liquidAltitude = builder.getLiquidAltitude();
+        this.debugBlock = builder.getDebugBlock();
+        this.isDebugVisualizerEnabled = builder.isDebugVisualizerEnabled();
+        this.isReplaceGravel = builder.isReplaceGravel();
+        this.isFloodedUndergroundEnabled = builder.isFloodedUndergroundEnabled();
+        if (bottomY > topY) {
+            this.bottomY = 40;
+            this.topY = 128;
+        }
+    }
+
+    /**
+     * Calls recursiveGenerate() on all chunks within a certain square range (default 8) of this chunk.
+     */
+    public void generate(long seed, IBiomeView biomeView, int chunkX, int chunkZ, ChunkPrimer primer, boolean addRooms, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
+        int chunkRadius = this.range;
+        this.biomeView = biomeView;
+        this.rand.setSeed(seed);
+        long j = this.rand.nextLong();
+        long k = this.rand.nextLong();
+        for (int currChunkX = chunkX - chunkRadius; currChunkX <= chunkX + chunkRadius; ++currChunkX) {
+            for (int currChunkZ = chunkZ - chunkRadius; currChunkZ <= chunkZ + chunkRadius; ++currChunkZ) {
+                long j1 = (long) currChunkX * j;
+                long k1 = (long) currChunkZ * k;
+                this.rand.setSeed(j1 ^ k1 ^ seed);
+                this.recursiveGenerate(currChunkX, currChunkZ, chunkX, chunkZ, primer, addRooms, liquidBlocks, carvingMask);
+            }
+        }
+    }
+
+    private void recursiveGenerate(int chunkX, int chunkZ, int originalChunkX, int originalChunkZ, ChunkPrimer primer, boolean addRooms, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
+        int numAttempts = this.rand.nextInt(this.rand.nextInt(this.rand.nextInt(15) + 1) + 1);
+
+        if (this.rand.nextInt(100) > this.density) {
+            numAttempts = 0;
+        }
+
+        for (int i = 0; i < numAttempts; ++i) {
+            double caveStartX = chunkX * 16 + this.rand.nextInt(16);
+            double caveStartY = this.rand.nextInt(this.topY - this.bottomY) + this.bottomY;
+            double caveStartZ = chunkZ * 16 + this.rand.nextInt(16);
+
+            int numAddTunnelCalls = 1;
+
+            if (addRooms && this.rand.nextInt(4) == 0) {
+                this.addRoom(this.rand.nextLong(), originalChunkX, originalChunkZ, primer, caveStartX, caveStartY, caveStartZ, liquidBlocks, carvingMask);
+                numAddTunnelCalls += this.rand.nextInt(4);
+            }
+
+            for (int j = 0; j < numAddTunnelCalls; ++j) {
+                float yaw = this.rand.nextFloat() * ((float) Math.PI * 2F);
+                float pitch = (this.rand.nextFloat() - 0.5F) * 2.0F / 8.0F;
+                float width = this.rand.nextFloat() * 2.0F + this.rand.nextFloat();
+
+                if (addRooms && this.rand.nextInt(10) == 0) {
+                    width *= this.rand.nextFloat() * this.rand.nextFloat() * 3.0F + 1.0F;
+                }
+
+                this.addTunnel(this.rand.nextLong(), originalChunkX, originalChunkZ, primer, caveStartX, caveStartY, caveStartZ, width, yaw, pitch, 0, 0, 1.0D, liquidBlocks, carvingMask);
+            }
+        }
+    }
+
+    private void addRoom(long seed, int originChunkX, int originChunkZ, ChunkPrimer primer, double caveStartX, double caveStartY, double caveStartZ, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
+        this.addTunnel(seed, originChunkX, originChunkZ, primer, caveStartX, caveStartY, caveStartZ, 1.0F + this.rand.nextFloat() * 6.0F, 0.0F, 0.0F, -1, -1, 0.5D, liquidBlocks, carvingMask);
+    }
+
+    private void addTunnel(long seed, int originChunkX, int originChunkZ, ChunkPrimer primer, double caveStartX, double caveStartY, double caveStartZ, float width, float yaw, float pitch, int startCounter, int endCounter, double heightModifier, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
+        IBlockState liquidBlock;
+        Random random = new Random(seed);
+
+        double originBlockX = (originChunkX * 16 + 8);
+        double originBlockZ = (originChunkZ * 16 + 8);
+
+        float yawModifier = 0.0F;
+        float pitchModifier = 0.0F;
+
+        if (endCounter <= 0) {
+            int i = this.range * 16 - 16;
+            endCounter = i - random.nextInt(i / 4);
+        }
+
+        boolean comesFromRoom = false;
+
+        if (startCounter == -1) {
+            startCounter = endCounter / 2;
+            comesFromRoom = true;
+        }
+
+        int randomCounterValue = random.nextInt(endCounter / 2) + endCounter / 4;
+
+        while (startCounter < endCounter) {
+            double xzOffset = 1.5D + (double) (MathHelper.sin((float) startCounter * (float) Math.PI / (float) endCounter) * width);
+            double yOffset = xzOffset * heightModifier;
+
+            float pitchXZ = MathHelper.cos(pitch);
+            float pitchY = MathHelper.sin(pitch);
+            caveStartX += MathHelper.cos(yaw) * pitchXZ;
+            caveStartY += pitchY;
+            caveStartZ += MathHelper.sin(yaw) * pitchXZ;
+
+            boolean flag = random.nextInt(6) == 0;
+            if (flag) {
+                pitch = pitch * 0.92F;
+            } else {
+                pitch = pitch * 0.7F;
+            }
+
+            pitch = pitch + pitchModifier * 0.1F;
+            yaw += yawModifier * 0.1F;
+
+            pitchModifier = pitchModifier * 0.9F;
+            yawModifier = yawModifier * 0.75F;
+
+            pitchModifier = pitchModifier + (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 2.0F;
+            yawModifier = yawModifier + (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 4.0F;
+
+            if (!comesFromRoom && startCounter == randomCounterValue && width > 1.0F && endCounter > 0) {
+                this.addTunnel(random.nextLong(), originChunkX, originChunkZ, primer, caveStartX, caveStartY, caveStartZ, random.nextFloat() * 0.5F + 0.5F, yaw - ((float) Math.PI / 2F), pitch / 3.0F, startCounter, endCounter, 1.0D, liquidBlocks, carvingMask);
+                this.addTunnel(random.nextLong(), originChunkX, originChunkZ, primer, caveStartX, caveStartY, caveStartZ, random.nextFloat() * 0.5F + 0.5F, yaw + ((float) Math.PI / 2F), pitch / 3.0F, startCounter, endCounter, 1.0D, liquidBlocks, carvingMask);
+                return;
+            }
+
+            if (comesFromRoom || random.nextInt(4) != 0) {
+                double caveStartXOffsetFromCenter = caveStartX - originBlockX;
+                double caveStartZOffsetFromCenter = caveStartZ - originBlockZ;
+                double distanceToEnd = endCounter - startCounter;
+                double d7 = width + 2.0F + 16.0F;
+
+                if (caveStartXOffsetFromCenter * caveStartXOffsetFromCenter + caveStartZOffsetFromCenter * caveStartZOffsetFromCenter - distanceToEnd * distanceToEnd > d7 * d7) {
+                    return;
+                }
+
+                if (caveStartX >= originBlockX - 16.0D - xzOffset * 2.0D && caveStartZ >= originBlockZ - 16.0D - xzOffset * 2.0D && caveStartX <= originBlockX + 16.0D + xzOffset * 2.0D && caveStartZ <= originBlockZ + 16.0D + xzOffset * 2.0D) {
+                    int minX = MathHelper.floor(caveStartX - xzOffset) - originChunkX * 16 - 1;
+                    int minY = MathHelper.floor(caveStartY - yOffset) - 1;
+                    int minZ = MathHelper.floor(caveStartZ - xzOffset) - originChunkZ * 16 - 1;
+                    int maxX = MathHelper.floor(caveStartX + xzOffset) - originChunkX * 16 + 1;
+                    int maxY = MathHelper.floor(caveStartY + yOffset) + 1;
+                    int maxZ = MathHelper.floor(caveStartZ + xzOffset) - originChunkZ * 16 + 1;
+
+                    if (minX < 0) {
+                        minX = 0;
+                    }
+
+                    if (maxX > 16) {
+                        maxX = 16;
+                    }
+
+                    if (minY < 1) {
+                        minY = 1;
+                    }
+
+                    if (maxY > 248) {
+                        maxY = 248;
+                    }
+
+                    if (minZ < 0) {
+                        minZ = 0;
+                    }
+
+                    if (maxZ > 16) {
+                        maxZ = 16;
+                    }
+
+                    for (int currX = minX; currX < maxX; ++currX) {
+                        double xAxisDist = ((double) (currX + originChunkX * 16) + 0.5D - caveStartX) / xzOffset;
+
+                        for (int currZ = minZ; currZ < maxZ; ++currZ) {
+                            double zAxisDist = ((double) (currZ + originChunkZ * 16) + 0.5D - caveStartZ) / xzOffset;
+
+                            if (!carvingMask[currX][currZ])
+                                continue;
+
+                            if (xAxisDist * xAxisDist + zAxisDist * zAxisDist < 1.0D) {
+                                for (int currY = maxY; currY > minY; --currY) {
+                                    double yAxisDist = ((double) (currY - 1) + 0.5D - caveStartY) / yOffset;
+
+                                    if (yAxisDist > -0.7D && xAxisDist * xAxisDist + yAxisDist * yAxisDist + zAxisDist * zAxisDist < 1.0D) {
+                                        liquidBlock = liquidBlocks[BetterCavesUtils.getLocal(currX)][BetterCavesUtils.getLocal(currZ)];
+                                        if (this.isDebugVisualizerEnabled)
+                                            CarverUtils.debugDigBlock(primer, currX, currY, currZ, debugBlock, true);
+                                        else
+                                            digBlock(primer, originChunkX, originChunkZ, currX, currY, currZ, liquidBlock);
+                                    } else {
+                                        if (this.isDebugVisualizerEnabled)
+                                            CarverUtils.debugDigBlock(primer, currX, currY, currZ, debugBlock, false);
+                                    }
+                                }
+                            }
+                        }
+                    }
+
+                    if (comesFromRoom) {
+                        break;
+                    }
+                }
+            }
+            startCounter++;
+        }
+    }
+
+    private void digBlock(ChunkPrimer primer, int chunkX, int chunkZ, int localX, int y, int localZ, IBlockState liquidBlockState) {
+        BlockPos pos = new BlockPos(chunkX * 16 + localX, y, chunkZ * 16 + localZ);
+
+        // Don't dig boundaries between flooded and unflooded openings.
+        boolean flooded = isFloodedUndergroundEnabled && !isDebugVisualizerEnabled && BiomeDictionary.hasType(biomeView.getBiome(pos), BiomeDictionary.Type.OCEAN) && y < biomeView.getSeaLevel();
+
+        if (flooded) {
+            if (
+                !BiomeDictionary.hasType(biomeView.getBiome(pos.east()), BiomeDictionary.Type.OCEAN) ||
+                !BiomeDictionary.hasType(biomeView.getBiome(pos.north()), BiomeDictionary.Type.OCEAN) ||
+                !BiomeDictionary.hasType(biomeView.getBiome(pos.west()), BiomeDictionary.Type.OCEAN) ||
+                !BiomeDictionary.hasType(biomeView.getBiome(pos.south()), BiomeDictionary.Type.OCEAN)
+            ) {
+                return;
+            }
+        }
+
+        IBlockState airBlockState = flooded ? Blocks.WATER.getDefaultState() : Blocks.AIR.getDefaultState();
+        CarverUtils.digBlock(biomeView, primer, pos, airBlockState, liquidBlockState, liquidAltitude, isReplaceGravel);
+    }
+}
@@ -0,0 +1,40 @@
+package com.yungnickyoung.minecraft.bettercaves.bench;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+/**
+ * Synthetic chunk contents for benchmarks.
+ * This class may not be instantiated - all members are {@code public} and {@code static},
+ * and as such may be accessed freely.
+ */
+public class SyntheticTerrain {
+    private SyntheticTerrain() {} // Private constructor prevents instantiation
+
+    /** Height of the synthetic terrain's surface */
+    public static final int SURFACE_Y = 63;
+
+    private static final IBlockState BEDROCK = Blocks.BEDROCK.getDefaultState();
+    private static final IBlockState STONE = Blocks.STONE.getDefaultState();
+    private static final IBlockState DIRT = Blocks.DIRT.getDefaultState();
+    private static final IBlockState GRASS = Blocks.GRASS.getDefaultState();
+
+    /**
+     * @return Flat terrain: bedrock floor, stone, three layers of dirt, and grass at {@link #SURFACE_Y}
+     */
+    public static ChunkPrimer createPrimer() {
+        ChunkPrimer primer = new ChunkPrimer();
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                primer.setBlockState(x, 0, z, BEDROCK);
+                for (int y = 1; y < SURFACE_Y - 3; y++)
+                    primer.setBlockState(x, y, z, STONE);
+                for (int y = SURFACE_Y - 3; y < SURFACE_Y; y++)
+                    primer.setBlockState(x, y, z, DIRT);
+                primer.setBlockState(x, SURFACE_Y, z, GRASS);
+            }
+        }
+        return primer;
+    }
+}
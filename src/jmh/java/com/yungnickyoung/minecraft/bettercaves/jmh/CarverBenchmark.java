@@ -0,0 +1,115 @@
+package com.yungnickyoung.minecraft.bettercaves.jmh;
+
+import com.yungnickyoung.minecraft.bettercaves.bench.BenchWorld;
+import com.yungnickyoung.minecraft.bettercaves.bench.SyntheticTerrain;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.world.CaveCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.CavernCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.WaterRegionController;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.chunk.ChunkPrimer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of carving a chunk with a single carver type.
+ * Every other carver is disabled and the carver's region covers the whole world, so each chunk is carved
+ * entirely by the carver under test. This includes threshold computation, noise preprocessing, block digging
+ * and the flooded-cave checks, not just noise generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CarverBenchmark {
+    /** Number of distinct chunks cycled through, in a square */
+    private static final int CHUNKS_PER_SIDE = 16;
+
+    @Param({"CUBIC", "SIMPLEX", "VANILLA", "LIQUID", "FLOORED"})
+    public String carverType;
+
+    private BenchWorld world;
+    private WaterRegionController waterRegionController;
+    private CaveCarverController caveCarverController;
+    private CavernCarverController cavernCarverController;
+    private int[][] surfaceAltitudes;
+    private int chunkIndex;
+
+    // Per-invocation inputs
+    private ChunkPrimer primer;
+    private IBlockState[][] liquidBlocks = new IBlockState[16][16];
+    private int chunkX, chunkZ;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.register();
+        world = new BenchWorld(0);
+        ConfigHolder config = configForCarver(carverType);
+        waterRegionController = new WaterRegionController(world, config);
+        caveCarverController = new CaveCarverController(world, config);
+        cavernCarverController = new CavernCarverController(world, config);
+
+        // The synthetic terrain is flat
+        surfaceAltitudes = new int[16][16];
+        for (int[] row : surfaceAltitudes)
+            Arrays.fill(row, SyntheticTerrain.SURFACE_Y);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextChunk() {
+        int i = chunkIndex++ % (CHUNKS_PER_SIDE * CHUNKS_PER_SIDE);
+        chunkX = i % CHUNKS_PER_SIDE;
+        chunkZ = i / CHUNKS_PER_SIDE;
+        primer = SyntheticTerrain.createPrimer();
+        waterRegionController.getLiquidBlocksForChunk(chunkX, chunkZ, liquidBlocks);
+    }
+
+    @Benchmark
+    public ChunkPrimer carveChunk() {
+        // Only one of these has any carvers enabled. The other returns immediately.
+        caveCarverController.carveChunk(primer, chunkX, chunkZ, surfaceAltitudes, liquidBlocks, world, null);
+        cavernCarverController.carveChunk(primer, chunkX, chunkZ, surfaceAltitudes, liquidBlocks, world, null);
+        return primer;
+    }
+
+    /**
+     * @return Default config with every carver except the given one disabled
+     */
+    private static ConfigHolder configForCarver(String carverType) {
+        ConfigHolder config = new ConfigHolder();
+        config.isSurfaceCavesEnabled.set(false);
+        config.cubicCavePriority.set(0);
+        config.simplexCavePriority.set(0);
+        config.vanillaCavePriority.set(0);
+        config.liquidCavernPriority.set(0);
+        config.flooredCavernPriority.set(0);
+        config.caveSpawnChance.set(100f);
+        config.cavernSpawnChance.set(100f);
+
+        switch (carverType) {
+            case "CUBIC":
+                config.cubicCavePriority.set(10);
+                break;
+            case "SIMPLEX":
+                config.simplexCavePriority.set(10);
+                break;
+            case "VANILLA":
+                config.vanillaCavePriority.set(10);
+                break;
+            case "LIQUID":
+                config.liquidCavernPriority.set(10);
+                break;
+            case "FLOORED":
+                config.flooredCavernPriority.set(10);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown carver type: " + carverType);
+        }
+        return config;
+    }
+}
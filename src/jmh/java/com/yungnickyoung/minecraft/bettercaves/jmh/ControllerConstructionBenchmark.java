@@ -0,0 +1,76 @@
+package com.yungnickyoung.minecraft.bettercaves.jmh;
+
+import com.yungnickyoung.minecraft.bettercaves.bench.BenchWorld;
+import com.yungnickyoung.minecraft.bettercaves.bench.Presets;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.noise.NoiseUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.CaveCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.CavernCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.ChunkCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.WaterRegionController;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverNoiseRange;
+import net.minecraft.init.Bootstrap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the per-dimension controllers, which is paid every time a whitelisted dimension loads.
+ * Measured once warmed up; see {@link DimensionStartupBenchmark} for the cold cost.
+ *
+ * {@code noiseRange} and {@code noiseOffset} isolate {@link CarverNoiseRange} construction, which walks the
+ * noise CDF in small steps to find its smoothing cutoffs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerConstructionBenchmark {
+    @Param({"default", "vanilla-plus-with-caverns"})
+    public String preset;
+
+    private BenchWorld world;
+    private ConfigHolder config;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.register();
+        world = new BenchWorld(0);
+        config = Presets.load(preset);
+    }
+
+    @Benchmark
+    public CaveCarverController caveCarverController() {
+        return new CaveCarverController(world, config);
+    }
+
+    @Benchmark
+    public CavernCarverController cavernCarverController() {
+        return new CavernCarverController(world, config);
+    }
+
+    @Benchmark
+    public WaterRegionController waterRegionController() {
+        return new WaterRegionController(world, config);
+    }
+
+    @Benchmark
+    public ChunkCarverController chunkCarverController() {
+        // Force the shared water region controller to be rebuilt, as it would be for a newly loaded dimension
+        WaterRegionController.removeSharedController(world.provider.getDimension());
+        return new ChunkCarverController(world, config);
+    }
+
+    @Benchmark
+    public CarverNoiseRange noiseRange() {
+        // Half of the noise range, like a carver with half of the total priority
+        return new CarverNoiseRange(-1f, 0f, null);
+    }
+
+    @Benchmark
+    public float noiseOffset() {
+        return NoiseUtils.simplexNoiseOffsetByPercent(-1f, .3f);
+    }
+}
@@ -0,0 +1,47 @@
+package com.yungnickyoung.minecraft.bettercaves.jmh;
+
+import com.yungnickyoung.minecraft.bettercaves.bench.BenchWorld;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.world.ChunkCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.WaterRegionController;
+import net.minecraft.init.Bootstrap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start cost of loading Better Caves for a number of dimensions, as on a server with many whitelisted
+ * dimensions. Each fork builds the controllers for every dimension exactly once, so the measurement includes
+ * class loading and interpreted execution, just like the first dimension loads after a server starts.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Thread)
+public class DimensionStartupBenchmark {
+    @Param({"1", "8", "32"})
+    public int dimensions;
+
+    private BenchWorld world;
+    private ConfigHolder config;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.register();
+        world = new BenchWorld(0);
+        config = new ConfigHolder();
+    }
+
+    @Benchmark
+    public ChunkCarverController loadDimensions() {
+        ChunkCarverController controller = null;
+        for (int i = 0; i < dimensions; i++) {
+            // The bench world is always the same dimension, so drop its shared controller to simulate a new one
+            WaterRegionController.removeSharedController(world.provider.getDimension());
+            controller = new ChunkCarverController(world, config);
+        }
+        return controller;
+    }
+}
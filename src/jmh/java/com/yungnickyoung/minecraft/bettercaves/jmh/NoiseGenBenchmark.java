@@ -0,0 +1,63 @@
+package com.yungnickyoung.minecraft.bettercaves.jmh;
+
+import com.yungnickyoung.minecraft.bettercaves.bench.BenchWorld;
+import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.enums.CaveType;
+import com.yungnickyoung.minecraft.bettercaves.noise.NoiseColumn;
+import com.yungnickyoung.minecraft.bettercaves.noise.NoiseCube;
+import com.yungnickyoung.minecraft.bettercaves.noise.NoiseGen;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.cave.CaveCarver;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.cave.CaveCarverBuilder;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of NoiseGen column and subchunk cube generation, using the default Type 1 (cubic) and
+ * Type 2 (simplex) cave settings.
+ * Each invocation moves to the next subchunk so that no two invocations sample the same points.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NoiseGenBenchmark {
+    @Param({"CUBIC", "SIMPLEX"})
+    public CaveType caveType;
+
+    private NoiseGen noiseGen;
+    private int bottomY, topY;
+    private int subChunkIndex;
+
+    @Setup
+    public void setup() {
+        CaveCarver carver = new CaveCarverBuilder(new BenchWorld(0))
+            .ofTypeFromConfig(caveType, new ConfigHolder())
+            .build();
+        noiseGen = carver.getNoiseGen();
+        bottomY = carver.getBottomY();
+        topY = carver.getTopY();
+    }
+
+    @Benchmark
+    public NoiseColumn generateNoiseColumn() {
+        int x = nextSubChunkX();
+        return noiseGen.generateNoiseColumn(new BlockPos(x, 1, 0), bottomY, topY);
+    }
+
+    @Benchmark
+    public NoiseCube interpolateNoiseCube() {
+        int x = nextSubChunkX();
+        BlockPos startPos = new BlockPos(x, 1, 0);
+        BlockPos endPos = new BlockPos(x + BCSettings.SUB_CHUNK_SIZE - 1, 1, BCSettings.SUB_CHUNK_SIZE - 1);
+        return noiseGen.interpolateNoiseCube(startPos, endPos, bottomY, topY);
+    }
+
+    private int nextSubChunkX() {
+        return (subChunkIndex++ & 0xFFFF) * BCSettings.SUB_CHUNK_SIZE;
+    }
+}
@@ -0,0 +1,83 @@
+package com.yungnickyoung.minecraft.bettercaves.jmh;
+
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.noise.FastNoise;
+import com.yungnickyoung.minecraft.bettercaves.noise.OpenSimplex2S;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-sample cost of the raw noise libraries.
+ *
+ * The FastNoise configurations are the ones actually used by Better Caves:
+ *  - CubicFractal / RigidMulti: Type 1 caves
+ *  - SimplexFractal / RigidMulti: liquid and floored caverns
+ *  - Cellular: cave region controller (2D)
+ *  - Simplex: cavern and water region controllers (2D)
+ * OpenSimplex2S is used by Type 2 caves, and is benchmarked with the default Type 2 cave settings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NoiseLibraryBenchmark {
+    /** Number of precomputed sample points cycled through, so results can't be constant-folded */
+    private static final int NUM_POINTS = 1024;
+
+    @Param({"CubicFractal/RigidMulti", "SimplexFractal/RigidMulti", "Cellular/FBM", "Simplex/FBM"})
+    public String fastNoiseType;
+
+    private FastNoise fastNoise;
+    private OpenSimplex2S openSimplex;
+    private float[] xs, ys, zs;
+    private int index;
+
+    @Setup
+    public void setup() {
+        String[] types = fastNoiseType.split("/");
+        fastNoise = new FastNoise(1337);
+        FastNoise.NoiseType noiseType = FastNoise.NoiseType.valueOf(types[0]);
+        fastNoise.SetNoiseType(noiseType);
+        fastNoise.SetFractalType(FastNoise.FractalType.valueOf(types[1]));
+        if (noiseType == FastNoise.NoiseType.Cellular)
+            fastNoise.SetCellularDistanceFunction(FastNoise.CellularDistanceFunction.Natural);
+
+        ConfigHolder config = new ConfigHolder();
+        openSimplex = new OpenSimplex2S(1337);
+        openSimplex.setOctaves(config.simplexCaveFractalOctaves.get());
+        openSimplex.setGain(config.simplexCaveFractalGain.get());
+        openSimplex.setFrequency(config.simplexCaveFractalFrequency.get());
+        openSimplex.setLacunarity(2.0);
+
+        // Sample points spread over a few chunks, at cave altitudes
+        xs = new float[NUM_POINTS];
+        ys = new float[NUM_POINTS];
+        zs = new float[NUM_POINTS];
+        for (int i = 0; i < NUM_POINTS; i++) {
+            xs[i] = (i * 37) % 97;
+            ys[i] = 1 + (i * 13) % 128;
+            zs[i] = (i * 53) % 89;
+        }
+    }
+
+    @Benchmark
+    public float fastNoise3D() {
+        int i = index++ & (NUM_POINTS - 1);
+        return fastNoise.GetNoise(xs[i], ys[i], zs[i]);
+    }
+
+    @Benchmark
+    public float fastNoise2D() {
+        int i = index++ & (NUM_POINTS - 1);
+        return fastNoise.GetNoise(xs[i], zs[i]);
+    }
+
+    @Benchmark
+    public float openSimplex2S3D() {
+        int i = index++ & (NUM_POINTS - 1);
+        return openSimplex.GetNoise(xs[i], ys[i], zs[i]);
+    }
+}
@@ -0,0 +1,68 @@
+package com.yungnickyoung.minecraft.bettercaves.jmh;
+
+import com.yungnickyoung.minecraft.bettercaves.bench.BenchWorld;
+import com.yungnickyoung.minecraft.bettercaves.bench.Presets;
+import com.yungnickyoung.minecraft.bettercaves.bench.SyntheticTerrain;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.world.ChunkCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.WaterRegionController;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.chunk.ChunkPrimer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of carving a chunk with each of the presets shipped in {@code presets/}.
+ * Runs the full ChunkCarverController pipeline, including bedrock flattening and surface detection.
+ *
+ * Presets are loaded with {@link Presets}. Note that the synthetic terrain is always overworld-like, even for
+ * other dimensions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PresetBenchmark {
+    /** Number of distinct chunks cycled through, in a square */
+    private static final int CHUNKS_PER_SIDE = 16;
+
+    @Param({"default-with-nether", "default-with-nether/DIM-1", "vanilla-plus", "vanilla-plus-with-caverns"})
+    public String preset;
+
+    private BenchWorld world;
+    private ChunkCarverController controller;
+    private int chunkIndex;
+
+    // Per-invocation inputs
+    private ChunkPrimer primer;
+    private int chunkX, chunkZ;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.register();
+        world = new BenchWorld(0);
+
+        ConfigHolder config = Presets.load(preset);
+
+        // Make sure the water region controller is built from this preset's config
+        WaterRegionController.removeSharedController(world.provider.getDimension());
+        controller = new ChunkCarverController(world, config);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextChunk() {
+        int i = chunkIndex++ % (CHUNKS_PER_SIDE * CHUNKS_PER_SIDE);
+        chunkX = i % CHUNKS_PER_SIDE;
+        chunkZ = i / CHUNKS_PER_SIDE;
+        primer = SyntheticTerrain.createPrimer();
+    }
+
+    @Benchmark
+    public ChunkPrimer carveChunk() {
+        controller.carveChunk(chunkX, chunkZ, primer, world);
+        return primer;
+    }
+}
@@ -0,0 +1,76 @@
+package com.yungnickyoung.minecraft.bettercaves.jmh;
+
+import com.yungnickyoung.minecraft.bettercaves.bench.BenchWorld;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.enums.RegionSize;
+import com.yungnickyoung.minecraft.bettercaves.noise.FastNoise;
+import com.yungnickyoung.minecraft.bettercaves.world.CaveCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.CavernCarverController;
+import com.yungnickyoung.minecraft.bettercaves.world.WaterRegionController;
+import net.minecraft.init.Bootstrap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single region lookup, i.e. one 2D noise sample from a cave, cavern or water region controller.
+ * Controllers sample their region noise once per column, so each invocation looks up a full chunk of columns
+ * and results are reported per column.
+ *
+ * Region controllers are taken from real controllers built from the default config, so they use the same
+ * noise type and frequency as in game for each {@link RegionSize}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegionLookupBenchmark {
+    private static final int COLUMNS_PER_CHUNK = 16 * 16;
+
+    @Param({"CAVE", "CAVERN", "WATER"})
+    public String region;
+
+    @Param({"Small", "Medium", "Large", "ExtraLarge"})
+    public RegionSize regionSize;
+
+    private FastNoise regionController;
+    private int chunkIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Bootstrap.register();
+        BenchWorld world = new BenchWorld(0);
+        ConfigHolder config = new ConfigHolder();
+
+        switch (region) {
+            case "CAVE":
+                config.caveRegionSize.set(regionSize);
+                regionController = new CaveCarverController(world, config).getRegionController();
+                break;
+            case "CAVERN":
+                config.cavernRegionSize.set(regionSize);
+                regionController = new CavernCarverController(world, config).getRegionController();
+                break;
+            case "WATER":
+                config.waterRegionSize.set(regionSize);
+                regionController = new WaterRegionController(world, config).getRegionController();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown region type: " + region);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COLUMNS_PER_CHUNK)
+    public float lookupChunk() {
+        // Walk along a row of chunks so consecutive invocations don't sample the same columns
+        int startX = (chunkIndex++ & 1023) * 16;
+        float sum = 0;
+        for (int x = 0; x < 16; x++)
+            for (int z = 0; z < 16; z++)
+                sum += regionController.GetNoise(startX + x, z);
+        return sum;
+    }
+}
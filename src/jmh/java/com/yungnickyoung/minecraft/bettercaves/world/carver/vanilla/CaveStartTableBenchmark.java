@@ -0,0 +1,135 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla;
+
+import net.minecraft.init.Bootstrap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Cost of rebuilding a region's {@link CaveStartTable} from the seed, against reading it back from a serialized copy.
+ * This decides whether start tables are worth persisting alongside region files.
+ *
+ * The serialized table is read from memory, both as is and deflated the way region file chunks are. Reading it from
+ * disk would add the file I/O on top, so the read benchmarks are a lower bound on the cost of loading a table.
+ *
+ * Kept in the carver's package, since building and filling in tables is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CaveStartTableBenchmark {
+    private static final long SEED = 0;
+
+    /** The default vanilla cave density, and the highest */
+    @Param({"15", "100"})
+    public int density;
+
+    private VanillaCaveCarver carver;
+    private byte[] serialized;
+    private byte[] deflated;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Bootstrap.register();
+        carver = new VanillaCaveCarverBuilder().bottomY(8).topY(128).density(density).liquidAltitude(10).build();
+        CaveStartTable table = carver.computeStartTable(SEED, true, 0, 0);
+        serialized = write(table, false);
+        deflated = write(table, true);
+    }
+
+    @Benchmark
+    public CaveStartTable rebuild() {
+        return carver.computeStartTable(SEED, true, 0, 0);
+    }
+
+    @Benchmark
+    public CaveStartTable read() throws IOException {
+        return read(serialized, false);
+    }
+
+    @Benchmark
+    public CaveStartTable readDeflated() throws IOException {
+        return read(deflated, true);
+    }
+
+    /**
+     * Serializes a table as its header, then each chunk's start count followed by its starts.
+     */
+    static byte[] write(CaveStartTable table, boolean deflate) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream stream = deflate ? new DeflaterOutputStream(bytes) : bytes;
+        try (DataOutputStream out = new DataOutputStream(stream)) {
+            out.writeLong(table.getSeed());
+            out.writeBoolean(table.isAddRooms());
+            out.writeInt(table.getRegionX());
+            out.writeInt(table.getRegionZ());
+            for (int chunk = 0; chunk < CaveStartTable.CHUNK_COUNT; chunk++) {
+                int chunkX = table.getChunkX(chunk);
+                int chunkZ = table.getChunkZ(chunk);
+                int end = table.getEndStart(chunkX, chunkZ);
+                int start = table.getFirstStart(chunkX, chunkZ);
+                out.writeShort(end - start);
+                for (; start < end; start++) {
+                    out.writeByte(table.getLocalX(start) | table.getLocalZ(start) << 4);
+                    out.writeByte(table.getY(start));
+                    out.writeBoolean(table.isRoom(start));
+                    out.writeFloat(table.getWidth(start));
+                    out.writeFloat(table.getYaw(start));
+                    out.writeFloat(table.getPitch(start));
+                    out.writeLong(table.getTunnelSeed(start));
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a table back, decoding the bytes through a ByteBuffer once they have been inflated in one pass.
+     */
+    static CaveStartTable read(byte[] bytes, boolean deflated) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(deflated ? inflate(bytes) : bytes);
+        CaveStartTable table = new CaveStartTable(in.getLong(), in.get() != 0, in.getInt(), in.getInt());
+        for (int chunk = 0; chunk < CaveStartTable.CHUNK_COUNT; chunk++) {
+            int startCount = in.getShort();
+            for (int i = 0; i < startCount; i++) {
+                int localXZ = in.get() & 255;
+                int y = in.get() & 255;
+                table.addStart(localXZ & 15, y, localXZ >> 4, in.get() != 0, in.getFloat(), in.getFloat(), in.getFloat(), in.getLong());
+            }
+            table.endChunk(chunk);
+        }
+        return table.trim();
+    }
+
+    private static byte[] inflate(byte[] bytes) throws IOException {
+        Inflater inflater = new Inflater();
+        inflater.setInput(bytes);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 2);
+        byte[] buffer = new byte[8192];
+        try {
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && inflater.needsInput())
+                    throw new EOFException("Truncated start table");
+                out.write(buffer, 0, length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,8 +1,14 @@
 package com.yungnickyoung.minecraft.bettercaves;
 
 // Better Caves
+import com.yungnickyoung.minecraft.bettercaves.command.CommandBetterCaves;
 import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
 import com.yungnickyoung.minecraft.bettercaves.event.EventBetterCaveGen;
+import com.yungnickyoung.minecraft.bettercaves.event.EventServerTick;
+import com.yungnickyoung.minecraft.bettercaves.event.EventWorldUnload;
+import com.yungnickyoung.minecraft.bettercaves.pregen.PregenManager;
+import com.yungnickyoung.minecraft.bettercaves.profiling.heatmap.HeatmapRecorder;
+import com.yungnickyoung.minecraft.bettercaves.world.mineshaft.MapGenBetterMineshaft;
 import com.yungnickyoung.minecraft.bettercaves.proxy.IProxy;
 
 // Minecraft Forge API
@@ -13,6 +19,8 @@ import net.minecraftforge.fml.common.Mod.EventHandler;
 import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
+import net.minecraftforge.fml.common.event.FMLServerStoppingEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -67,5 +75,35 @@ public class BetterCaves {
     public void init(FMLInitializationEvent event) {
         // Register world generation events
         MinecraftForge.TERRAIN_GEN_BUS.register(new EventBetterCaveGen()); // Replace vanilla cave generation
+        MinecraftForge.EVENT_BUS.register(new EventServerTick()); // Background tasks such as pregeneration
+        MinecraftForge.EVENT_BUS.register(new EventWorldUnload()); // Release per-dimension caches
+
+        // Load saved mineshafts as Better Caves mineshafts
+        MapGenBetterMineshaft.registerStructures();
+    }
+
+    /**
+     * Server starting FML Life Cycle event handling method which is automatically
+     * called by Forge. Registers Better Caves commands.
+     *
+     * @param event the event
+     */
+    @EventHandler
+    public void serverStarting(FMLServerStartingEvent event) {
+        event.registerServerCommand(new CommandBetterCaves());
+        if (PregenManager.hasCheckpoint())
+            BetterCaves.LOGGER.info("Found an unfinished Better Caves pregen task. Use /bettercaves pregen resume to continue it.");
+    }
+
+    /**
+     * Server stopping FML Life Cycle event handling method which is automatically
+     * called by Forge. Saves the progress of any running pregen task.
+     *
+     * @param event the event
+     */
+    @EventHandler
+    public void serverStopping(FMLServerStoppingEvent event) {
+        PregenManager.onServerStopping();
+        HeatmapRecorder.flush();
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.yungnickyoung.minecraft.bettercaves.command;
+
+import com.yungnickyoung.minecraft.bettercaves.config.io.ConfigLoader;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.enums.CaveType;
+import com.yungnickyoung.minecraft.bettercaves.profiling.NoiseBackendBenchmark;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code /bettercaves benchmark} - built-in benchmarks that run against the sender's dimension and config.
+ * Benchmarks run on the server thread and will stall the server while they run.
+ */
+public class CommandBenchmark extends CommandBase {
+    private static final String USAGE = "/bettercaves benchmark noise [cubic|simplex] [radius]";
+
+    /** Largest allowed radius, in chunks */
+    private static final int MAX_RADIUS = 8;
+
+    @Override
+    public String getName() {
+        return "benchmark";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return USAGE;
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        if (args.length == 0 || !args[0].equals("noise"))
+            throw new WrongUsageException(USAGE);
+
+        CaveType caveType;
+        try {
+            caveType = args.length > 1 ? CaveType.valueOf(args[1].toUpperCase()) : CaveType.CUBIC;
+        } catch (IllegalArgumentException e) {
+            throw new WrongUsageException(USAGE);
+        }
+        int radius = args.length > 2 ? parseInt(args[2], 0, MAX_RADIUS) : 2;
+
+        World world = sender.getEntityWorld();
+        BlockPos pos = sender.getPosition();
+        ConfigHolder config = ConfigLoader.loadConfigFromFileForDimension(world.provider.getDimension());
+
+        sender.sendMessage(new TextComponentString("Running Better Caves noise benchmark..."));
+        NoiseBackendBenchmark benchmark = new NoiseBackendBenchmark(world, config, caveType);
+        for (String line : benchmark.run(pos.getX() >> 4, pos.getZ() >> 4, radius))
+            sender.sendMessage(new TextComponentString(line));
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1)
+            return getListOfStringsMatchingLastWord(args, "noise");
+        if (args.length == 2 && args[0].equals("noise"))
+            return getListOfStringsMatchingLastWord(args, "cubic", "simplex");
+        return Collections.emptyList();
+    }
+}
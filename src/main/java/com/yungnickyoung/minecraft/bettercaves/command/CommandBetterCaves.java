@@ -0,0 +1,32 @@
+package com.yungnickyoung.minecraft.bettercaves.command;
+
+import net.minecraft.command.ICommandSender;
+import net.minecraftforge.server.command.CommandTreeBase;
+
+/**
+ * Root {@code /bettercaves} command. Individual features are registered as subcommands.
+ */
+public class CommandBetterCaves extends CommandTreeBase {
+    public CommandBetterCaves() {
+        addSubcommand(new CommandPregen());
+        addSubcommand(new CommandTimings());
+        addSubcommand(new CommandStats());
+        addSubcommand(new CommandHeatmap());
+        addSubcommand(new CommandBenchmark());
+    }
+
+    @Override
+    public String getName() {
+        return "bettercaves";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return "/bettercaves <pregen|timings|stats|heatmap|benchmark> ...";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+}
@@ -0,0 +1,97 @@
+package com.yungnickyoung.minecraft.bettercaves.command;
+
+import com.yungnickyoung.minecraft.bettercaves.profiling.heatmap.HeatmapRecorder;
+import com.yungnickyoung.minecraft.bettercaves.profiling.heatmap.HeatmapRenderer;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code /bettercaves heatmap} - records the cost of every generated chunk, and renders it as a heatmap image.
+ */
+public class CommandHeatmap extends CommandBase {
+    private static final String USAGE = "/bettercaves heatmap <on|off|flush|render [dimension] [time|noise|columns|cubes|features]>";
+
+    @Override
+    public String getName() {
+        return "heatmap";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return USAGE;
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        if (args.length == 0)
+            throw new WrongUsageException(USAGE);
+
+        switch (args[0]) {
+            case "on":
+                HeatmapRecorder.setEnabled(true);
+                sender.sendMessage(new TextComponentString("Better Caves chunk cost recording enabled."));
+                break;
+            case "off":
+                HeatmapRecorder.setEnabled(false);
+                HeatmapRecorder.flush();
+                sender.sendMessage(new TextComponentString("Better Caves chunk cost recording disabled."));
+                break;
+            case "flush":
+                HeatmapRecorder.flush();
+                sender.sendMessage(new TextComponentString("Better Caves chunk costs written to disk."));
+                break;
+            case "render":
+                render(sender, args);
+                break;
+            default:
+                throw new WrongUsageException(USAGE);
+        }
+    }
+
+    private void render(ICommandSender sender, String[] args) throws CommandException {
+        int dimensionID = args.length > 1 ? parseInt(args[1]) : sender.getEntityWorld().provider.getDimension();
+        HeatmapRenderer.Metric metric;
+        try {
+            metric = args.length > 2 ? HeatmapRenderer.Metric.valueOf(args[2].toUpperCase()) : HeatmapRenderer.Metric.TIME;
+        } catch (IllegalArgumentException e) {
+            throw new WrongUsageException(USAGE);
+        }
+
+        HeatmapRecorder.flush();
+        File dir = HeatmapRecorder.getDimensionDir(dimensionID);
+        if (dir == null)
+            throw new CommandException("No world save is loaded.");
+
+        File output = new File(dir.getParentFile(), "DIM" + dimensionID + "-" + metric.name().toLowerCase() + ".png");
+        try {
+            sender.sendMessage(new TextComponentString(HeatmapRenderer.render(dir, output, metric)));
+        } catch (IOException e) {
+            throw new CommandException("Unable to render heatmap: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1)
+            return getListOfStringsMatchingLastWord(args, "on", "off", "flush", "render");
+        if (args.length == 3 && args[0].equals("render"))
+            return getListOfStringsMatchingLastWord(args, "time", "noise", "columns", "cubes", "features");
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.yungnickyoung.minecraft.bettercaves.command;
+
+import com.yungnickyoung.minecraft.bettercaves.pregen.PregenArea;
+import com.yungnickyoung.minecraft.bettercaves.pregen.PregenManager;
+import com.yungnickyoung.minecraft.bettercaves.pregen.PregenTask;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraftforge.common.DimensionManager;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code /bettercaves pregen} - pregenerates a region of chunks in the background.
+ * All coordinates are chunk coordinates.
+ */
+public class CommandPregen extends CommandBase {
+    private static final String USAGE =
+        "/bettercaves pregen start rect <x1> <z1> <x2> <z2> [dimension] [maxInFlight] [tickBudgetMs]\n" +
+        "/bettercaves pregen start radial <centerX> <centerZ> <radius> [dimension] [maxInFlight] [tickBudgetMs]\n" +
+        "/bettercaves pregen <stop|resume|status>";
+
+    @Override
+    public String getName() {
+        return "pregen";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return USAGE;
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        if (args.length < 1)
+            throw new WrongUsageException(USAGE);
+
+        switch (args[0]) {
+            case "start":
+                start(sender, args);
+                break;
+            case "stop":
+                if (!PregenManager.stop(server))
+                    throw new CommandException("No Better Caves pregen task is running.");
+                sender.sendMessage(new TextComponentString("Pregen stopped. Use /bettercaves pregen resume to continue."));
+                break;
+            case "resume":
+                PregenTask task = PregenManager.resume();
+                if (task == null)
+                    throw new CommandException("Unable to resume: a task is already running, or no checkpoint was found.");
+                sender.sendMessage(new TextComponentString(task.getStatus()));
+                break;
+            case "status":
+                PregenTask activeTask = PregenManager.getActiveTask();
+                if (activeTask != null)
+                    sender.sendMessage(new TextComponentString(activeTask.getStatus()));
+                else if (PregenManager.hasCheckpoint())
+                    sender.sendMessage(new TextComponentString("No pregen task is running. A checkpoint is available to resume."));
+                else
+                    sender.sendMessage(new TextComponentString("No pregen task is running."));
+                break;
+            default:
+                throw new WrongUsageException(USAGE);
+        }
+    }
+
+    private void start(ICommandSender sender, String[] args) throws CommandException {
+        if (args.length < 2)
+            throw new WrongUsageException(USAGE);
+
+        PregenArea area;
+        int optionalArgsStart;
+        if (args[1].equals("rect") && args.length >= 6) {
+            area = new PregenArea.Rectangle(parseInt(args[2]), parseInt(args[3]), parseInt(args[4]), parseInt(args[5]));
+            optionalArgsStart = 6;
+        }
+        else if (args[1].equals("radial") && args.length >= 5) {
+            area = new PregenArea.Radial(parseInt(args[2]), parseInt(args[3]), parseInt(args[4], 0));
+            optionalArgsStart = 5;
+        }
+        else {
+            throw new WrongUsageException(USAGE);
+        }
+
+        int dimension = args.length > optionalArgsStart
+            ? parseInt(args[optionalArgsStart])
+            : sender.getEntityWorld().provider.getDimension();
+        int maxInFlight = args.length > optionalArgsStart + 1
+            ? parseInt(args[optionalArgsStart + 1], 1)
+            : PregenTask.DEFAULT_MAX_IN_FLIGHT;
+        int tickBudget = args.length > optionalArgsStart + 2
+            ? parseInt(args[optionalArgsStart + 2], 1)
+            : PregenTask.DEFAULT_TICK_BUDGET_MILLIS;
+
+        if (!DimensionManager.isDimensionRegistered(dimension))
+            throw new CommandException("Unknown dimension: " + dimension);
+
+        PregenTask task = new PregenTask(dimension, area, 0, maxInFlight, tickBudget);
+        if (!PregenManager.start(task))
+            throw new CommandException("A Better Caves pregen task is already running.");
+
+        sender.sendMessage(new TextComponentString(
+            String.format("Pregenerating %d chunks in DIM %d (%s).", area.getTotalChunks(), dimension, area.describe())));
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1)
+            return getListOfStringsMatchingLastWord(args, "start", "stop", "resume", "status");
+        if (args.length == 2 && args[0].equals("start"))
+            return getListOfStringsMatchingLastWord(args, "rect", "radial");
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.yungnickyoung.minecraft.bettercaves.command;
+
+import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraftforge.common.DimensionManager;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * {@code /bettercaves stats} - shows how much work cave generation has done, such as noise samples and blocks dug.
+ * Stats can also be dumped to a CSV or JSON file in the world save folder.
+ */
+public class CommandStats extends CommandBase {
+    private static final String USAGE = "/bettercaves stats [on|off|reset|dump [csv|json]]";
+    private static final String DUMP_DIR = "bettercaves";
+
+    @Override
+    public String getName() {
+        return "stats";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return USAGE;
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        if (args.length == 0) {
+            if (!GenerationStats.isEnabled())
+                sender.sendMessage(new TextComponentString("Better Caves generation stats are disabled. Use /bettercaves stats on to enable them."));
+            sender.sendMessage(new TextComponentString(GenerationStats.getSummary()));
+            return;
+        }
+
+        switch (args[0]) {
+            case "on":
+                GenerationStats.setEnabled(true);
+                sender.sendMessage(new TextComponentString("Better Caves generation stats enabled."));
+                break;
+            case "off":
+                GenerationStats.setEnabled(false);
+                sender.sendMessage(new TextComponentString("Better Caves generation stats disabled."));
+                break;
+            case "reset":
+                GenerationStats.reset();
+                sender.sendMessage(new TextComponentString("Better Caves generation stats reset."));
+                break;
+            case "dump":
+                dump(sender, args.length > 1 ? args[1] : "csv");
+                break;
+            default:
+                throw new WrongUsageException(USAGE);
+        }
+    }
+
+    private void dump(ICommandSender sender, String format) throws CommandException {
+        if (!format.equals("csv") && !format.equals("json"))
+            throw new WrongUsageException(USAGE);
+
+        File saveDir = DimensionManager.getCurrentSaveRootDirectory();
+        if (saveDir == null)
+            throw new CommandException("No world is loaded.");
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File file = new File(new File(saveDir, DUMP_DIR), "stats-" + timestamp + "." + format);
+        try {
+            GenerationStats.dump(file, format.equals("json"));
+        } catch (IOException e) {
+            BetterCaves.LOGGER.warn("Unable to write Better Caves stats: " + e);
+            throw new CommandException("Unable to write stats file: " + e.getMessage());
+        }
+        sender.sendMessage(new TextComponentString("Better Caves stats written to " + file.getPath()));
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1)
+            return getListOfStringsMatchingLastWord(args, "on", "off", "reset", "dump");
+        if (args.length == 2 && args[0].equals("dump"))
+            return getListOfStringsMatchingLastWord(args, "csv", "json");
+        return Collections.emptyList();
+    }
+}
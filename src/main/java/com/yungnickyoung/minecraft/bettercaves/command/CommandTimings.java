@@ -0,0 +1,85 @@
+package com.yungnickyoung.minecraft.bettercaves.command;
+
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationTimings;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /bettercaves timings} - shows how long each stage of cave generation takes, per dimension.
+ */
+public class CommandTimings extends CommandBase {
+    private static final String USAGE = "/bettercaves timings [on|off|reset]";
+
+    @Override
+    public String getName() {
+        return "timings";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return USAGE;
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        if (args.length == 0) {
+            show(sender);
+            return;
+        }
+
+        switch (args[0]) {
+            case "on":
+                GenerationTimings.setEnabled(true);
+                sender.sendMessage(new TextComponentString("Better Caves generation timings enabled."));
+                break;
+            case "off":
+                GenerationTimings.setEnabled(false);
+                sender.sendMessage(new TextComponentString("Better Caves generation timings disabled."));
+                break;
+            case "reset":
+                GenerationTimings.resetAll();
+                sender.sendMessage(new TextComponentString("Better Caves generation timings reset."));
+                break;
+            default:
+                throw new WrongUsageException(USAGE);
+        }
+    }
+
+    private void show(ICommandSender sender) {
+        Map<Integer, GenerationTimings> timings = GenerationTimings.getAll();
+        if (!GenerationTimings.isEnabled())
+            sender.sendMessage(new TextComponentString("Better Caves generation timings are disabled. Use /bettercaves timings on to enable them."));
+
+        boolean any = false;
+        for (GenerationTimings dimensionTimings : timings.values()) {
+            if (dimensionTimings.getChunkCount() > 0) {
+                sender.sendMessage(new TextComponentString(dimensionTimings.getSummary()));
+                any = true;
+            }
+        }
+        if (!any)
+            sender.sendMessage(new TextComponentString("No chunks have been timed yet."));
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1)
+            return getListOfStringsMatchingLastWord(args, "on", "off", "reset");
+        return Collections.emptyList();
+    }
+}
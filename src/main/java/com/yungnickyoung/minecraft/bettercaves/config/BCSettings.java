@@ -22,6 +22,23 @@ public class BCSettings {
     public static final String CUSTOM_CONFIG_PATH = "bettercaves-1_12_2";
 
     public static final int SUB_CHUNK_SIZE = 4;
+
+    /** Max number of chunks held in each dimension's liquid block cache, and the number of lock stripes it uses */
+    public static final int LIQUID_CACHE_SIZE = 1024;
+    public static final int LIQUID_CACHE_STRIPES = 16;
+
+    /** Max number of source chunks held in each vanilla cave carver's tunnel trace cache, and the number of lock stripes it uses */
+    public static final int TUNNEL_TRACE_CACHE_SIZE = 2048;
+    public static final int TUNNEL_TRACE_CACHE_STRIPES = 16;
+
+    /** Max number of source chunks held in each ravine carver's trace cache, and the number of lock stripes it uses */
+    public static final int RAVINE_TRACE_CACHE_SIZE = 256;
+    public static final int RAVINE_TRACE_CACHE_STRIPES = 4;
+
+    /** Max number of regions (32x32 source chunks) held in each vanilla cave carver's cave start table cache, and the number of lock stripes it uses */
+    public static final int CAVE_START_TABLE_CACHE_SIZE = 64;
+    public static final int CAVE_START_TABLE_CACHE_STRIPES = 4;
+
     public static final float[] START_COEFFS = new float[SUB_CHUNK_SIZE];
     public static final float[] END_COEFFS = new float[SUB_CHUNK_SIZE];
 
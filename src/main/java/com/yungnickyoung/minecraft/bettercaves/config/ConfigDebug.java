@@ -16,4 +16,52 @@ public class ConfigDebug {
             "    Vanilla Cave: Bricks\n" +
             "Default: false")
     public boolean debugVisualizer = false;
+
+    @Config.Name("Enable Generation Timings")
+    @Config.Comment(
+            "Records how long each stage of cave generation takes, per dimension.\n" +
+            "    Results can be viewed with /bettercaves timings, and are periodically written to the log.\n" +
+            "    Adds a small amount of overhead to chunk generation while enabled.\n" +
+            "Default: false")
+    public boolean enableGenerationTimings = false;
+
+    @Config.Name("Generation Timings Log Interval")
+    @Config.Comment(
+            "How often generation timings are written to the log, in seconds. Set to 0 to disable logging.\n" +
+            "    Only used if Enable Generation Timings is true.\n" +
+            "Default: 300")
+    @Config.RangeInt(min = 0)
+    public int generationTimingsLogInterval = 300;
+
+    @Config.Name("Enable Generation Stats")
+    @Config.Comment(
+            "Counts the work done during cave generation, such as noise samples taken, blocks dug and biome lookups.\n" +
+            "    Results can be viewed with /bettercaves stats, or dumped to a file with /bettercaves stats dump.\n" +
+            "    Adds a small amount of overhead to chunk generation while enabled.\n" +
+            "Default: false")
+    public boolean enableGenerationStats = false;
+
+    @Config.Name("Enable Chunk Cost Recording")
+    @Config.Comment(
+            "Records how long each chunk took to carve and how much work it needed to bettercaves/heatmap in the world folder.\n" +
+            "    The recorded data can be rendered as a heatmap image with /bettercaves heatmap render.\n" +
+            "    Adds a small amount of overhead to chunk generation while enabled.\n" +
+            "Default: false")
+    public boolean enableChunkCostRecording = false;
+
+    @Config.Name("Slow Chunk Threshold")
+    @Config.Comment(
+            "Chunks that take longer than this many milliseconds to carve are written to the log, along with\n" +
+            "    a breakdown of where the time went. A value around 50 is a good starting point. Set to 0 to disable.\n" +
+            "Default: 0")
+    @Config.RangeInt(min = 0)
+    public int slowChunkThreshold = 0;
+
+    @Config.Name("Slow Chunk Log Interval")
+    @Config.Comment(
+            "Minimum time between two slow chunk reports, in seconds. Slow chunks in between are only counted.\n" +
+            "    Only used if Slow Chunk Threshold is greater than 0.\n" +
+            "Default: 10")
+    @Config.RangeInt(min = 0)
+    public int slowChunkLogInterval = 10;
 }
@@ -53,7 +53,7 @@ public class ConfigLoader {
      * @return ConfigHolder populated with data in file. Any config options not specified in the config file will
      *         use the respective value in the global Better Caves config
      */
-    private static ConfigHolder parseConfigFromFile(File file) {
+    public static ConfigHolder parseConfigFromFile(File file) {
         ConfigHolder config = new ConfigHolder();
         BufferedReader buffer = null;
         Configuration.UnicodeInputStreamReader input = null;
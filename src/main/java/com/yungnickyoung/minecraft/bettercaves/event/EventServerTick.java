@@ -0,0 +1,26 @@
+package com.yungnickyoung.minecraft.bettercaves.event;
+
+import com.yungnickyoung.minecraft.bettercaves.pregen.PregenManager;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationTimings;
+import com.yungnickyoung.minecraft.bettercaves.profiling.heatmap.HeatmapRecorder;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * Drives Better Caves background work that needs to run on the server thread.
+ * Should be registered to the {@code EVENT_BUS}.
+ */
+public class EventServerTick {
+    /**
+     * Advances the active pregen task and logs generation timings and flushes chunk cost records at the end of every server tick
+     */
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            PregenManager.tick(FMLCommonHandler.instance().getMinecraftServerInstance());
+            GenerationTimings.tick();
+            HeatmapRecorder.tick();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.yungnickyoung.minecraft.bettercaves.event;
+
+import com.yungnickyoung.minecraft.bettercaves.world.WaterRegionController;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * Releases per-dimension Better Caves state when a world is unloaded.
+ * Should be registered to the {@code EVENT_BUS}.
+ */
+public class EventWorldUnload {
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (!event.getWorld().isRemote)
+            WaterRegionController.removeSharedController(event.getWorld().provider.getDimension());
+    }
+}
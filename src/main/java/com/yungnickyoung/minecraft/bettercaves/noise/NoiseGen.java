@@ -1,6 +1,8 @@
 package com.yungnickyoung.minecraft.bettercaves.noise;
 
 import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
@@ -61,6 +63,8 @@ public class NoiseGen {
         int x = blockPos.getX();
         int z = blockPos.getZ();
         NoiseColumn noiseColumn = new NoiseColumn();
+        GenerationStats.add(GenerationCounter.NOISE_SAMPLES, (long) Math.max(maxHeight - minHeight + 1, 0) * numGenerators);
+        GenerationStats.add(GenerationCounter.NOISE_TUPLES, Math.max(maxHeight - minHeight + 1, 0));
 
         for (int y = minHeight; y <= maxHeight; y++) {
             Vector3f f = new Vector3f(x * xzCompression, y * yCompression, z * xzCompression);
@@ -152,6 +156,10 @@ public class NoiseGen {
         int endZ         = endPos.getZ();
         int subChunkSize = endX - startX + 1;
 
+        // Corner columns are counted by generateNoiseColumn; the rest are interpolated
+        GenerationStats.increment(GenerationCounter.NOISE_CUBES);
+        GenerationStats.add(GenerationCounter.NOISE_TUPLES, (long) (subChunkSize * subChunkSize - 4) * Math.max(maxHeight - minHeight + 1, 0));
+
         // Calculate noise tuples for four corner columns
         NoiseColumn noisesX0Z0 =
                 generateNoiseColumn(new BlockPos(startX, 1, startZ), minHeight, maxHeight);
@@ -226,6 +234,16 @@ public class NoiseGen {
         return seed;
     }
 
+    /**
+     * @param minHeight The bottom y-coordinate noise values are generated for
+     * @param maxHeight The top y-coordinate noise values are generated for
+     * @return Number of noise values {@link #interpolateNoiseCube} calculates: one per generator for every block
+     *         of the cube's four corner columns
+     */
+    public int getNoiseCubeSampleCount(int minHeight, int maxHeight) {
+        return 4 * Math.max(maxHeight - minHeight + 1, 0) * numGenerators;
+    }
+
     /* ------------------------- Private Methods -------------------------*/
     /**
      * Initialize fractal noise generators.
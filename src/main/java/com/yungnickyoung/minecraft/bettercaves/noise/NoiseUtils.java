@@ -2,7 +2,7 @@ package com.yungnickyoung.minecraft.bettercaves.noise;
 
 /**
  * Utility functions related to noise.
- * These are currently only used in the CarverNoiseRange and carver controller classes.
+ * These are currently only used in the CarverNoiseRange, carver controller and region controller classes.
  */
 public class NoiseUtils {
     private NoiseUtils() {}
@@ -48,4 +48,25 @@ public class NoiseUtils {
     public static float noiseToCDF(float x) {
         return (-0.435999f * x * x * x) + (.000303f * x * x) + (.916298f * x) + .499721f;
     }
+
+    /**
+     * Stateless per-column random value, based on the SplitMix64 finalizer.
+     * Unlike a seeded {@code Random}, this needs no shared state, so it is safe to call from any thread and
+     * always returns the same value for the same inputs, regardless of call order.
+     * @param seed World seed
+     * @param x Block x-coordinate
+     * @param z Block z-coordinate
+     * @return Pseudorandom float in the range [0, 1)
+     */
+    public static float hashToFloat(long seed, int x, int z) {
+        long h = mix64(seed + x * 0x9E3779B97F4A7C15L);
+        h = mix64(h + z * 0x9E3779B97F4A7C15L);
+        return (h >>> 40) * 0x1.0p-24f;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 }
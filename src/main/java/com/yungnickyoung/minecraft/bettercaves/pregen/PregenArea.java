@@ -0,0 +1,219 @@
+package com.yungnickyoung.minecraft.bettercaves.pregen;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+
+/**
+ * A region of chunks to be pregenerated.
+ * Chunks are visited in a fixed order, so that a task can be resumed from the index of the next chunk
+ * stored in a checkpoint.
+ */
+public abstract class PregenArea {
+    /**
+     * @return Total number of chunks in this area
+     */
+    public abstract long getTotalChunks();
+
+    /**
+     * @return A new cursor positioned at the first chunk of this area
+     */
+    public abstract Cursor cursor();
+
+    /**
+     * @return Short human-readable description of this area, used in status messages
+     */
+    public abstract String describe();
+
+    /**
+     * Writes this area's parameters to NBT, for use in checkpoint files.
+     */
+    public abstract NBTTagCompound writeToNBT();
+
+    /**
+     * Reads an area previously written with {@link #writeToNBT()}.
+     * @return the area, or null if the tag does not describe a known area type
+     */
+    public static PregenArea readFromNBT(NBTTagCompound tag) {
+        switch (tag.getString("Type")) {
+            case "rect":
+                return new Rectangle(tag.getInteger("MinX"), tag.getInteger("MinZ"), tag.getInteger("MaxX"), tag.getInteger("MaxZ"));
+            case "radial":
+                return new Radial(tag.getInteger("CenterX"), tag.getInteger("CenterZ"), tag.getInteger("Radius"));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Iterates over the chunks of an area in a fixed order.
+     */
+    public interface Cursor {
+        boolean hasNext();
+
+        ChunkPos next();
+    }
+
+    /**
+     * Rectangle of chunks, visited row by row.
+     */
+    public static class Rectangle extends PregenArea {
+        private final int minX, minZ, maxX, maxZ;
+
+        public Rectangle(int x1, int z1, int x2, int z2) {
+            this.minX = Math.min(x1, x2);
+            this.minZ = Math.min(z1, z2);
+            this.maxX = Math.max(x1, x2);
+            this.maxZ = Math.max(z1, z2);
+        }
+
+        @Override
+        public long getTotalChunks() {
+            return ((long) maxX - minX + 1) * ((long) maxZ - minZ + 1);
+        }
+
+        @Override
+        public Cursor cursor() {
+            return new Cursor() {
+                private long index = 0;
+                private final long width = (long) maxX - minX + 1;
+                private final long total = getTotalChunks();
+
+                @Override
+                public boolean hasNext() {
+                    return index < total;
+                }
+
+                @Override
+                public ChunkPos next() {
+                    ChunkPos pos = new ChunkPos((int) (minX + index % width), (int) (minZ + index / width));
+                    index++;
+                    return pos;
+                }
+            };
+        }
+
+        @Override
+        public String describe() {
+            return String.format("rectangle [%d, %d] -> [%d, %d]", minX, minZ, maxX, maxZ);
+        }
+
+        @Override
+        public NBTTagCompound writeToNBT() {
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setString("Type", "rect");
+            tag.setInteger("MinX", minX);
+            tag.setInteger("MinZ", minZ);
+            tag.setInteger("MaxX", maxX);
+            tag.setInteger("MaxZ", maxZ);
+            return tag;
+        }
+    }
+
+    /**
+     * Circle of chunks around a center chunk, visited in an outward square spiral.
+     * Generating outward from the center keeps the most recently generated chunks adjacent to one another,
+     * which lets population happen as soon as possible.
+     */
+    public static class Radial extends PregenArea {
+        private final int centerX, centerZ, radius;
+        private final long totalChunks;
+
+        public Radial(int centerX, int centerZ, int radius) {
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.radius = Math.max(radius, 0);
+
+            // Count the chunks in each column of the circle
+            long count = 0;
+            for (int x = -this.radius; x <= this.radius; x++)
+                count += 2L * getHalfHeight(x) + 1;
+            this.totalChunks = count;
+        }
+
+        private boolean isInside(int offsetX, int offsetZ) {
+            return (long) offsetX * offsetX + (long) offsetZ * offsetZ <= (long) radius * radius;
+        }
+
+        /**
+         * @return The largest z-offset inside the circle in the column at the given x-offset
+         */
+        private int getHalfHeight(int offsetX) {
+            int halfHeight = (int) Math.sqrt((double) radius * radius - (double) offsetX * offsetX);
+
+            // Correct for rounding in the square root
+            while (halfHeight > 0 && !isInside(offsetX, halfHeight))
+                halfHeight--;
+            while (isInside(offsetX, halfHeight + 1))
+                halfHeight++;
+            return halfHeight;
+        }
+
+        @Override
+        public long getTotalChunks() {
+            return totalChunks;
+        }
+
+        @Override
+        public Cursor cursor() {
+            return new Cursor() {
+                // Spiral state. Legs grow by one block every two turns: right 1, down 1, left 2, up 2, ...
+                private int x = 0, z = 0;
+                private int dx = 1, dz = 0;
+                private int legLength = 1, legProgress = 0, legsAtLength = 0;
+                private long visited = 0;
+                private boolean atStart = true;
+
+                @Override
+                public boolean hasNext() {
+                    return visited < totalChunks;
+                }
+
+                @Override
+                public ChunkPos next() {
+                    if (atStart) {
+                        atStart = false;
+                    } else {
+                        step();
+                    }
+                    while (!isInside(x, z)) {
+                        step();
+                    }
+                    visited++;
+                    return new ChunkPos(centerX + x, centerZ + z);
+                }
+
+                private void step() {
+                    x += dx;
+                    z += dz;
+                    legProgress++;
+                    if (legProgress == legLength) {
+                        legProgress = 0;
+                        int oldDx = dx;
+                        dx = -dz;
+                        dz = oldDx;
+                        legsAtLength++;
+                        if (legsAtLength == 2) {
+                            legsAtLength = 0;
+                            legLength++;
+                        }
+                    }
+                }
+            };
+        }
+
+        @Override
+        public String describe() {
+            return String.format("radius %d around [%d, %d]", radius, centerX, centerZ);
+        }
+
+        @Override
+        public NBTTagCompound writeToNBT() {
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setString("Type", "radial");
+            tag.setInteger("CenterX", centerX);
+            tag.setInteger("CenterZ", centerZ);
+            tag.setInteger("Radius", radius);
+            return tag;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.yungnickyoung.minecraft.bettercaves.pregen;
+
+import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Runs at most one {@link PregenTask} at a time on the server thread, and keeps its checkpoint file up to date.
+ * The checkpoint is stored in the world save folder, so an interrupted task can be resumed after a restart.
+ * This class may not be instantiated - all members are {@code static}.
+ */
+public class PregenManager {
+    private PregenManager() {} // Private constructor prevents instantiation
+
+    private static final String CHECKPOINT_DIR = "bettercaves";
+    private static final String CHECKPOINT_FILE = "pregen.dat";
+
+    private static PregenTask activeTask;
+    private static long lastCheckpointIndex = -1;
+
+    /**
+     * Starts a new task, replacing any existing checkpoint.
+     * @return false if a task is already running
+     */
+    public static boolean start(PregenTask task) {
+        if (activeTask != null)
+            return false;
+
+        activeTask = task;
+        lastCheckpointIndex = -1;
+        writeCheckpoint();
+        BetterCaves.LOGGER.info("Starting Better Caves pregen: " + task.getStatus());
+        return true;
+    }
+
+    /**
+     * Resumes the task stored in the checkpoint file.
+     * @return the resumed task, or null if no valid checkpoint exists or a task is already running
+     */
+    public static PregenTask resume() {
+        if (activeTask != null)
+            return null;
+
+        File file = getCheckpointFile();
+        if (file == null || !file.exists())
+            return null;
+
+        try {
+            NBTTagCompound tag = CompressedStreamTools.read(file);
+            activeTask = tag == null ? null : PregenTask.readFromNBT(tag);
+        } catch (IOException e) {
+            BetterCaves.LOGGER.warn("Unable to read Better Caves pregen checkpoint: " + e);
+            return null;
+        }
+
+        if (activeTask != null) {
+            lastCheckpointIndex = activeTask.getSavedIndex();
+            BetterCaves.LOGGER.info("Resuming Better Caves pregen: " + activeTask.getStatus());
+        }
+        return activeTask;
+    }
+
+    /**
+     * Stops the active task after flushing its pending chunks. The checkpoint is kept so it can be resumed.
+     * @return false if no task was running
+     */
+    public static boolean stop(MinecraftServer server) {
+        if (activeTask == null)
+            return false;
+
+        WorldServer world = server.getWorld(activeTask.getDimensionID());
+        activeTask.flush(world, true);
+        writeCheckpoint();
+        BetterCaves.LOGGER.info("Stopped Better Caves pregen: " + activeTask.getStatus());
+        activeTask = null;
+        return true;
+    }
+
+    /**
+     * Advances the active task. Should be called once per server tick.
+     */
+    public static void tick(MinecraftServer server) {
+        if (activeTask == null)
+            return;
+
+        WorldServer world = server.getWorld(activeTask.getDimensionID());
+        boolean hasNext = activeTask.tick(world);
+
+        if (!hasNext) {
+            BetterCaves.LOGGER.info("Better Caves pregen finished.");
+            deleteCheckpoint();
+            activeTask = null;
+        } else if (activeTask.getSavedIndex() != lastCheckpointIndex) {
+            writeCheckpoint();
+        }
+    }
+
+    /**
+     * Called when the server is stopping. Pending chunks are saved by the server itself, so only the
+     * checkpoint needs to be written.
+     */
+    public static void onServerStopping() {
+        if (activeTask != null) {
+            writeCheckpoint();
+            activeTask = null;
+        }
+    }
+
+    /**
+     * @return the active task, or null if none is running
+     */
+    public static PregenTask getActiveTask() {
+        return activeTask;
+    }
+
+    /**
+     * @return true if a checkpoint file exists for the current world
+     */
+    public static boolean hasCheckpoint() {
+        File file = getCheckpointFile();
+        return file != null && file.exists();
+    }
+
+    private static void writeCheckpoint() {
+        File file = getCheckpointFile();
+        if (file == null)
+            return;
+
+        try {
+            if (!file.getParentFile().exists() && !file.getParentFile().mkdirs())
+                throw new IOException("could not create directory " + file.getParentFile());
+            CompressedStreamTools.safeWrite(activeTask.writeToNBT(), file);
+            lastCheckpointIndex = activeTask.getSavedIndex();
+        } catch (IOException e) {
+            BetterCaves.LOGGER.warn("Unable to write Better Caves pregen checkpoint: " + e);
+        }
+    }
+
+    private static void deleteCheckpoint() {
+        File file = getCheckpointFile();
+        if (file != null && file.exists() && !file.delete())
+            BetterCaves.LOGGER.warn("Unable to delete Better Caves pregen checkpoint at " + file);
+    }
+
+    private static File getCheckpointFile() {
+        File saveDir = DimensionManager.getCurrentSaveRootDirectory();
+        return saveDir == null ? null : new File(new File(saveDir, CHECKPOINT_DIR), CHECKPOINT_FILE);
+    }
+}
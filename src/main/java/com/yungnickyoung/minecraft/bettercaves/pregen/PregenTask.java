@@ -0,0 +1,265 @@
+package com.yungnickyoung.minecraft.bettercaves.pregen;
+
+import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStage;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationTimings;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.ChunkProviderServer;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A single pregeneration job for one dimension.
+ * The task is advanced a little every server tick by the {@link PregenManager}.
+ *
+ * Work is bounded in two ways:
+ *  - Each tick only spends up to {@code tickBudgetMillis} generating chunks.
+ *  - At most {@code maxInFlight} generated chunks are kept loaded. Once that many are pending, they are saved and
+ *    queued for unloading, and generation pauses until the chunk provider has caught up with its unload queue.
+ */
+public class PregenTask {
+    /** Default number of generated chunks kept loaded before they are flushed to disk */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+
+    /** Default time spent generating chunks each tick, in milliseconds */
+    public static final int DEFAULT_TICK_BUDGET_MILLIS = 40;
+
+    /** Maximum number of ticks to wait for the provider to unload flushed chunks before generating anyway */
+    private static final int MAX_STALL_TICKS = 100;
+
+    /** How often progress is reported to the log, in milliseconds */
+    private static final long REPORT_INTERVAL_MILLIS = 10000;
+
+    private final int dimensionID;
+    private final PregenArea area;
+    private final int maxInFlight;
+    private final long tickBudgetNanos;
+
+    private PregenArea.Cursor cursor;
+    private long nextIndex;
+
+    // Chunks generated by this task that have not been unloaded yet
+    private final ArrayDeque<Chunk> inFlight = new ArrayDeque<>();
+
+    // Index of the first chunk that has not been saved to disk yet
+    private long savedIndex;
+
+    // Loaded chunk count the provider should drop to after the last flush. Generation pauses until it does.
+    private int loadedChunkCeiling = -1;
+    private int ticksSinceFlush;
+
+    // Stats for the current session. These are not persisted, since they describe throughput, not progress.
+    private int generated, skipped, stalledTicks;
+    private long generateNanos, saveNanos, unloadNanos;
+    private long sessionStartMillis, lastReportMillis;
+    private int generatedAtLastReport;
+
+    // Dimension's generation timings when this session started, so the status only covers this session
+    private final long[] stageNanosAtStart = new long[GenerationStage.values().length];
+    private long timedChunksAtStart;
+
+    public PregenTask(int dimensionID, PregenArea area, long startIndex, int maxInFlight, int tickBudgetMillis) {
+        this.dimensionID = dimensionID;
+        this.area = area;
+        this.maxInFlight = Math.max(maxInFlight, 1);
+        this.tickBudgetNanos = Math.max(tickBudgetMillis, 1) * 1000000L;
+
+        // Fast-forward to the first chunk not yet processed
+        this.cursor = area.cursor();
+        for (long i = 0; i < startIndex && cursor.hasNext(); i++)
+            cursor.next();
+        this.nextIndex = startIndex;
+        this.savedIndex = startIndex;
+
+        this.sessionStartMillis = System.currentTimeMillis();
+        this.lastReportMillis = sessionStartMillis;
+
+        GenerationTimings timings = GenerationTimings.forDimension(dimensionID);
+        for (GenerationStage stage : GenerationStage.values())
+            stageNanosAtStart[stage.ordinal()] = timings.getStageNanos(stage);
+        this.timedChunksAtStart = timings.getChunkCount();
+    }
+
+    /**
+     * Generates as many chunks as allowed for this tick.
+     * @return true if there is still work left to do
+     */
+    public boolean tick(WorldServer world) {
+        ChunkProviderServer provider = world.getChunkProvider();
+
+        // Back-pressure: wait for the provider to drop the chunks we queued for unloading
+        if (loadedChunkCeiling >= 0 && provider.getLoadedChunkCount() > loadedChunkCeiling && ticksSinceFlush++ < MAX_STALL_TICKS) {
+            stalledTicks++;
+            return true;
+        }
+        loadedChunkCeiling = -1;
+        ticksSinceFlush = 0;
+
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        while (cursor.hasNext() && inFlight.size() < maxInFlight && System.nanoTime() < deadline) {
+            ChunkPos pos = cursor.next();
+            nextIndex++;
+
+            // Leave existing chunks alone. This also makes resuming after a crash cheap.
+            if (provider.isChunkGeneratedAt(pos.x, pos.z)) {
+                skipped++;
+                continue;
+            }
+
+            long start = System.nanoTime();
+            Chunk chunk = provider.provideChunk(pos.x, pos.z);
+            generateNanos += System.nanoTime() - start;
+            inFlight.add(chunk);
+            generated++;
+        }
+
+        boolean hasNext = cursor.hasNext();
+        if (inFlight.size() >= maxInFlight || !hasNext) {
+            flush(world, !hasNext);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastReportMillis >= REPORT_INTERVAL_MILLIS || !hasNext) {
+            BetterCaves.LOGGER.info(getStatus());
+            lastReportMillis = now;
+            generatedAtLastReport = generated;
+        }
+
+        return hasNext;
+    }
+
+    /**
+     * Saves all pending chunks and queues them for unloading.
+     * Chunks that have not been populated yet are kept loaded if possible, since population only happens
+     * while a chunk's neighbors are loaded.
+     * @param all true to unload every pending chunk, including unpopulated ones
+     */
+    public void flush(WorldServer world, boolean all) {
+        ChunkProviderServer provider = world.getChunkProvider();
+
+        long start = System.nanoTime();
+        provider.saveChunks(true);
+        saveNanos += System.nanoTime() - start;
+
+        savedIndex = nextIndex;
+
+        start = System.nanoTime();
+        int toKeep = all ? 0 : maxInFlight / 2;
+        int queued = 0;
+        int remaining = inFlight.size();
+        Iterator<Chunk> iterator = inFlight.iterator();
+        while (iterator.hasNext()) {
+            Chunk chunk = iterator.next();
+            if (remaining > toKeep || chunk.isTerrainPopulated()) {
+                provider.queueUnload(chunk);
+                iterator.remove();
+                queued++;
+            }
+            remaining--;
+        }
+        unloadNanos += System.nanoTime() - start;
+
+        // Allow some slack for chunks the provider refuses to drop, such as spawn chunks
+        loadedChunkCeiling = provider.getLoadedChunkCount() - queued + maxInFlight / 4;
+    }
+
+    /**
+     * @return Progress and throughput summary
+     */
+    public String getStatus() {
+        long now = System.currentTimeMillis();
+        double elapsedSeconds = Math.max(now - sessionStartMillis, 1) / 1000.0;
+        double recentSeconds = Math.max(now - lastReportMillis, 1) / 1000.0;
+        long total = area.getTotalChunks();
+        double percent = total == 0 ? 100 : 100.0 * nextIndex / total;
+        double chunksPerSecond = generated / elapsedSeconds;
+        double recentChunksPerSecond = (generated - generatedAtLastReport) / recentSeconds;
+
+        return String.format(
+            "Better Caves pregen DIM %d (%s): %d/%d (%.1f%%), %d generated, %d skipped | %.1f chunks/s (%.1f recent) | " +
+                "per chunk: generate %.2f ms, save %.2f ms, unload %.2f ms | %d stalled ticks | %s",
+            dimensionID, area.describe(), nextIndex, total, percent, generated, skipped,
+            chunksPerSecond, recentChunksPerSecond,
+            perChunkMillis(generateNanos), perChunkMillis(saveNanos), perChunkMillis(unloadNanos),
+            stalledTicks, getStageStatus()
+        );
+    }
+
+    /**
+     * @return Average time per chunk spent in each stage of cave generation in this task's dimension this session.
+     *         Also includes chunks generated outside of this task, e.g. by players exploring.
+     */
+    private String getStageStatus() {
+        if (!GenerationTimings.isEnabled())
+            return "cave generation stages: use /bettercaves timings on";
+
+        GenerationTimings timings = GenerationTimings.forDimension(dimensionID);
+
+        // Timings reset since this session started count from zero
+        if (timings.getChunkCount() < timedChunksAtStart) {
+            Arrays.fill(stageNanosAtStart, 0);
+            timedChunksAtStart = 0;
+        }
+
+        long chunkCount = timings.getChunkCount() - timedChunksAtStart;
+        if (chunkCount <= 0)
+            return "cave generation stages: no chunks timed yet";
+
+        StringBuilder status = new StringBuilder("cave generation per chunk:");
+        for (GenerationStage stage : GenerationStage.values()) {
+            long nanos = timings.getStageNanos(stage) - stageNanosAtStart[stage.ordinal()];
+            status.append(String.format(" %s %.3f ms,", stage.getLabel(), nanos / 1000000.0 / chunkCount));
+        }
+        status.setLength(status.length() - 1);
+        return status.toString();
+    }
+
+    private double perChunkMillis(long nanos) {
+        return generated == 0 ? 0 : nanos / 1000000.0 / generated;
+    }
+
+    /**
+     * Writes this task's progress, for use in checkpoint files.
+     * Only chunks that have been saved are considered done.
+     */
+    public NBTTagCompound writeToNBT() {
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setInteger("Dimension", dimensionID);
+        tag.setTag("Area", area.writeToNBT());
+        tag.setLong("NextIndex", savedIndex);
+        tag.setInteger("MaxInFlight", maxInFlight);
+        tag.setInteger("TickBudget", (int) (tickBudgetNanos / 1000000L));
+        return tag;
+    }
+
+    /**
+     * Reads a task previously written with {@link #writeToNBT()}.
+     * @return the task, or null if the tag is invalid
+     */
+    public static PregenTask readFromNBT(NBTTagCompound tag) {
+        PregenArea area = PregenArea.readFromNBT(tag.getCompoundTag("Area"));
+        if (area == null)
+            return null;
+
+        return new PregenTask(
+            tag.getInteger("Dimension"),
+            area,
+            tag.getLong("NextIndex"),
+            tag.getInteger("MaxInFlight"),
+            tag.getInteger("TickBudget")
+        );
+    }
+
+    public int getDimensionID() {
+        return dimensionID;
+    }
+
+    public long getSavedIndex() {
+        return savedIndex;
+    }
+}
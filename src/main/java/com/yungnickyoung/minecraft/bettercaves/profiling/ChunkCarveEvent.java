@@ -0,0 +1,27 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the full Better Caves pipeline for a single chunk.
+ * Only created through {@link JfrEvents}.
+ */
+@Name("bettercaves.ChunkCarve")
+@Label("Chunk Carve")
+@Category("Better Caves")
+@Description("Better Caves carving a single chunk, from bedrock flattening to the last carver")
+@StackTrace(false)
+public class ChunkCarveEvent extends jdk.jfr.Event {
+    @Label("Dimension")
+    int dimension;
+
+    @Label("Chunk X")
+    int chunkX;
+
+    @Label("Chunk Z")
+    int chunkZ;
+}
@@ -0,0 +1,119 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+/**
+ * Time and work spent carving a single chunk.
+ *
+ * A profile is only created while at least one profiling feature is enabled, and is owned by the thread carving
+ * its chunk, so none of its members are synchronized. Once the chunk is done, the profile is handed to each
+ * enabled consumer, such as the dimension's {@link GenerationTimings}.
+ */
+public class ChunkProfile {
+    /* Flags describing which features were carved into the chunk */
+    public static final int FLAG_CUBIC_CAVES = 1;
+    public static final int FLAG_SIMPLEX_CAVES = 1 << 1;
+    public static final int FLAG_VANILLA_CAVES = 1 << 2;
+    public static final int FLAG_SURFACE_CAVES = 1 << 3;
+    public static final int FLAG_LIQUID_CAVERNS = 1 << 4;
+    public static final int FLAG_FLOORED_CAVERNS = 1 << 5;
+    public static final int FLAG_FLOODED = 1 << 6;
+
+    private static final String[] FLAG_NAMES = {
+        "cubic caves", "simplex caves", "vanilla caves", "surface caves", "liquid caverns", "floored caverns", "flooded"
+    };
+
+    private static final GenerationStage[] STAGES = GenerationStage.values();
+
+    private final long[] stageNanos = new long[STAGES.length];
+    private final long startNanos;
+    private long totalNanos;
+    private int noiseSamples;
+    private int noiseCubes;
+    private int columnsCarved;
+    private int flags;
+
+    public ChunkProfile() {
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds the time elapsed since {@code sinceNanos} to a stage.
+     * @return The current {@code System.nanoTime()}, so consecutive stages can be chained
+     */
+    public long record(GenerationStage stage, long sinceNanos) {
+        long now = System.nanoTime();
+        stageNanos[stage.ordinal()] += now - sinceNanos;
+        return now;
+    }
+
+    /**
+     * Adds a duration to a stage. Used for stages that are timed piecewise, such as per-column work.
+     */
+    public void add(GenerationStage stage, long nanos) {
+        stageNanos[stage.ordinal()] += nanos;
+    }
+
+    /**
+     * Marks the chunk as done, fixing its total time.
+     */
+    public void finish() {
+        totalNanos = System.nanoTime() - startNanos;
+    }
+
+    public void addNoiseSamples(int samples) {
+        noiseSamples += samples;
+    }
+
+    public void addNoiseCube() {
+        noiseCubes++;
+    }
+
+    public void addColumnCarved() {
+        columnsCarved++;
+    }
+
+    public void addFlags(int flags) {
+        this.flags |= flags;
+    }
+
+    public long getStageNanos(GenerationStage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public int getNoiseSamples() {
+        return noiseSamples;
+    }
+
+    public int getNoiseCubes() {
+        return noiseCubes;
+    }
+
+    public int getColumnsCarved() {
+        return columnsCarved;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return Comma-separated names of the set flags, or "none"
+     */
+    public static String getFlagNames(int flags) {
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < FLAG_NAMES.length; i++) {
+            if ((flags & 1 << i) != 0) {
+                if (names.length() > 0) names.append(", ");
+                names.append(FLAG_NAMES[i]);
+            }
+        }
+        return names.length() == 0 ? "none" : names.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+/**
+ * Work counted by {@link GenerationStats} while chunks are carved.
+ */
+public enum GenerationCounter {
+    CHUNKS("chunks"),
+    NOISE_SAMPLES("noise samples"),
+    NOISE_TUPLES("noise tuples"),
+    NOISE_CUBES("noise cubes"),
+    COLUMNS_CARVED("columns carved"),
+    BLOCKS_DUG("blocks dug"),
+    BIOME_LOOKUPS("biome lookups"),
+    TUNNEL_SEGMENTS("tunnel segments"),
+    TUNNELS_CULLED("tunnels culled");
+
+    private final String label;
+
+    GenerationCounter(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return Short name used in reports
+     */
+    public String getLabel() {
+        return label;
+    }
+}
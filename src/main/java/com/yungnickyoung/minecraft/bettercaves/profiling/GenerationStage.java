@@ -0,0 +1,30 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+/**
+ * Stages of the Better Caves carving pipeline that are timed separately by {@link GenerationTimings}.
+ */
+public enum GenerationStage {
+    SURFACE("surface"), // Includes bedrock flattening, which is done in the same pass
+    LIQUID("liquid"),
+    CAVE_REGION("cave region"),
+    CAVE_NOISE("cave noise"),
+    CAVE_CARVE("cave carve"),
+    VANILLA_CAVES("vanilla caves"),
+    SURFACE_CAVES("surface caves"),
+    CAVERN_REGION("cavern region"),
+    CAVERN_NOISE("cavern noise"),
+    CAVERN_CARVE("cavern carve");
+
+    private final String label;
+
+    GenerationStage(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return Short name used in timing reports
+     */
+    public String getLabel() {
+        return label;
+    }
+}
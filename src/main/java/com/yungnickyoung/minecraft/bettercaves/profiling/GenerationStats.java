@@ -0,0 +1,118 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+import com.yungnickyoung.minecraft.bettercaves.config.Configuration;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of counters describing how much work cave generation does, such as noise samples taken and blocks dug.
+ * Counters are shared by all dimensions and all generator threads.
+ *
+ * Counting is done directly on the generation path, so each counter is a {@link LongAdder} to keep contention
+ * between generator threads low. While stats are disabled, counting is a single config check.
+ * This class may not be instantiated - all members are {@code static}.
+ */
+public class GenerationStats {
+    private GenerationStats() {} // Private constructor prevents instantiation
+
+    private static final GenerationCounter[] COUNTERS = GenerationCounter.values();
+    private static final LongAdder[] ADDERS = new LongAdder[COUNTERS.length];
+
+    static {
+        for (int i = 0; i < ADDERS.length; i++)
+            ADDERS[i] = new LongAdder();
+    }
+
+    /**
+     * @return true if generation stats should be counted
+     */
+    public static boolean isEnabled() {
+        return Configuration.debugsettings.enableGenerationStats;
+    }
+
+    /**
+     * Enables or disables stats until the config is next reloaded.
+     */
+    public static void setEnabled(boolean enabled) {
+        Configuration.debugsettings.enableGenerationStats = enabled;
+    }
+
+    /**
+     * Increments a counter by one, if stats are enabled.
+     */
+    public static void increment(GenerationCounter counter) {
+        if (isEnabled())
+            ADDERS[counter.ordinal()].increment();
+    }
+
+    /**
+     * Adds to a counter, if stats are enabled.
+     */
+    public static void add(GenerationCounter counter, long amount) {
+        if (isEnabled())
+            ADDERS[counter.ordinal()].add(amount);
+    }
+
+    public static long get(GenerationCounter counter) {
+        return ADDERS[counter.ordinal()].sum();
+    }
+
+    public static void reset() {
+        for (LongAdder adder : ADDERS)
+            adder.reset();
+    }
+
+    /**
+     * @return Each counter's total and its average per chunk
+     */
+    public static String getSummary() {
+        long chunks = get(GenerationCounter.CHUNKS);
+        StringBuilder summary = new StringBuilder("Better Caves stats: " + chunks + " chunks |");
+        for (GenerationCounter counter : COUNTERS) {
+            if (counter == GenerationCounter.CHUNKS)
+                continue;
+            long total = get(counter);
+            summary.append(String.format(" %s %d (%.1f/chunk),", counter.getLabel(), total, perChunk(total, chunks)));
+        }
+        summary.setLength(summary.length() - 1);
+        return summary.toString();
+    }
+
+    /**
+     * Writes every counter to a file, with one row or entry per counter.
+     * @param file File to write to. Overwritten if it already exists.
+     * @param json true to write JSON, false to write CSV
+     */
+    public static void dump(File file, boolean json) throws IOException {
+        if (file.getParentFile() != null && !file.getParentFile().exists() && !file.getParentFile().mkdirs())
+            throw new IOException("could not create directory " + file.getParentFile());
+
+        long chunks = get(GenerationCounter.CHUNKS);
+        try (Writer writer = new FileWriter(file)) {
+            if (json) {
+                writer.write("{\n");
+                for (int i = 0; i < COUNTERS.length; i++) {
+                    long total = get(COUNTERS[i]);
+                    writer.write(String.format(Locale.ROOT, "  \"%s\": {\"total\": %d, \"perChunk\": %.3f}%s\n",
+                        COUNTERS[i].name().toLowerCase(), total, perChunk(total, chunks), i < COUNTERS.length - 1 ? "," : ""));
+                }
+                writer.write("}\n");
+            } else {
+                writer.write("counter,total,per_chunk\n");
+                for (GenerationCounter counter : COUNTERS) {
+                    long total = get(counter);
+                    writer.write(String.format(Locale.ROOT, "%s,%d,%.3f\n", counter.name().toLowerCase(), total, perChunk(total, chunks)));
+                }
+            }
+        }
+    }
+
+    private static double perChunk(long total, long chunks) {
+        return chunks == 0 ? 0 : (double) total / chunks;
+    }
+}
@@ -0,0 +1,149 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
+import com.yungnickyoung.minecraft.bettercaves.config.Configuration;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Accumulated time spent in each {@link GenerationStage} for a single dimension.
+ *
+ * Stages are timed per chunk in a {@link ChunkProfile}, which is added to these totals once the chunk is done.
+ * Totals are atomic counters, so generator threads only synchronize once per chunk.
+ */
+public class GenerationTimings {
+    private static final Map<Integer, GenerationTimings> TIMINGS = new ConcurrentHashMap<>();
+    private static final GenerationStage[] STAGES = GenerationStage.values();
+
+    private static long lastLogMillis = System.currentTimeMillis();
+
+    private final int dimensionID;
+    private final AtomicLongArray stageNanos = new AtomicLongArray(STAGES.length);
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+
+    // Chunk count when this dimension was last logged. Only accessed from the server thread.
+    private long chunksAtLastLog;
+
+    private GenerationTimings(int dimensionID) {
+        this.dimensionID = dimensionID;
+    }
+
+    /**
+     * @return true if generation timings should be recorded
+     */
+    public static boolean isEnabled() {
+        return Configuration.debugsettings.enableGenerationTimings;
+    }
+
+    /**
+     * Enables or disables timings until the config is next reloaded.
+     */
+    public static void setEnabled(boolean enabled) {
+        Configuration.debugsettings.enableGenerationTimings = enabled;
+    }
+
+    /**
+     * @return The timings for a dimension, creating them if necessary
+     */
+    public static GenerationTimings forDimension(int dimensionID) {
+        return TIMINGS.computeIfAbsent(dimensionID, GenerationTimings::new);
+    }
+
+    /**
+     * @return The timings of every dimension that has been timed, sorted by dimension ID
+     */
+    public static Map<Integer, GenerationTimings> getAll() {
+        return new TreeMap<>(TIMINGS);
+    }
+
+    /**
+     * Clears the timings of every dimension.
+     */
+    public static void resetAll() {
+        TIMINGS.values().forEach(GenerationTimings::reset);
+    }
+
+    /**
+     * Logs a summary for each dimension that generated chunks since the last summary, once the configured
+     * interval has passed. Should be called once per server tick.
+     */
+    public static void tick() {
+        int intervalSeconds = Configuration.debugsettings.generationTimingsLogInterval;
+        if (!isEnabled() || intervalSeconds <= 0)
+            return;
+
+        long now = System.currentTimeMillis();
+        if (now - lastLogMillis < intervalSeconds * 1000L)
+            return;
+        lastLogMillis = now;
+
+        for (GenerationTimings timings : getAll().values()) {
+            long chunkCount = timings.chunks.get();
+            if (chunkCount != timings.chunksAtLastLog) {
+                timings.chunksAtLastLog = chunkCount;
+                BetterCaves.LOGGER.info(timings.getSummary());
+            }
+        }
+    }
+
+    /**
+     * Adds a finished chunk's stage times to these timings.
+     */
+    public void add(ChunkProfile profile) {
+        for (GenerationStage stage : STAGES)
+            stageNanos.addAndGet(stage.ordinal(), profile.getStageNanos(stage));
+        totalNanos.addAndGet(profile.getTotalNanos());
+        chunks.incrementAndGet();
+    }
+
+    public void reset() {
+        for (int i = 0; i < STAGES.length; i++)
+            stageNanos.set(i, 0);
+        totalNanos.set(0);
+        chunks.set(0);
+        chunksAtLastLog = 0;
+    }
+
+    public int getDimensionID() {
+        return dimensionID;
+    }
+
+    public long getChunkCount() {
+        return chunks.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getStageNanos(GenerationStage stage) {
+        return stageNanos.get(stage.ordinal());
+    }
+
+    /**
+     * @return Average time per chunk for the whole pipeline and for each stage
+     */
+    public String getSummary() {
+        long chunkCount = chunks.get();
+        long total = totalNanos.get();
+        StringBuilder summary = new StringBuilder(String.format(
+            "Better Caves timings DIM %d: %d chunks, %.3f ms/chunk |", dimensionID, chunkCount, perChunkMillis(total, chunkCount)));
+
+        for (GenerationStage stage : STAGES) {
+            long nanos = stageNanos.get(stage.ordinal());
+            double percent = total == 0 ? 0 : 100.0 * nanos / total;
+            summary.append(String.format(" %s %.3f (%.1f%%),", stage.getLabel(), perChunkMillis(nanos, chunkCount), percent));
+        }
+        summary.setLength(summary.length() - 1);
+        return summary.toString();
+    }
+
+    private static double perChunkMillis(long nanos, long chunkCount) {
+        return chunkCount == 0 ? 0 : nanos / 1000000.0 / chunkCount;
+    }
+}
@@ -0,0 +1,102 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+import jdk.jfr.EventType;
+
+/**
+ * Entry point for Better Caves' JDK Flight Recorder events.
+ *
+ * Each {@code begin} method returns null unless the JVM supports JFR and a recording with that event enabled
+ * is running. The matching {@code end} method ignores null events, so callers never need to check.
+ * When nothing is recording, an event costs one boolean check and no allocation.
+ *
+ * The event classes are only loaded once JFR is known to be available, so Better Caves still runs on JVMs
+ * without the {@code jdk.jfr} module.
+ * This class may not be instantiated - all members are {@code public} and {@code static},
+ * and as such may be accessed freely.
+ */
+public class JfrEvents {
+    private JfrEvents() {} // Private constructor prevents instantiation
+
+    /** Whether the running JVM provides the {@code jdk.jfr} API */
+    public static final boolean AVAILABLE = isJfrAvailable();
+
+    public static ChunkCarveEvent beginChunkCarve() {
+        if (!AVAILABLE || !EventTypes.CHUNK_CARVE.isEnabled())
+            return null;
+        ChunkCarveEvent event = new ChunkCarveEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endChunkCarve(ChunkCarveEvent event, int dimension, int chunkX, int chunkZ) {
+        if (event == null)
+            return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.dimension = dimension;
+            event.chunkX = chunkX;
+            event.chunkZ = chunkZ;
+            event.commit();
+        }
+    }
+
+    public static NoiseGenerationEvent beginNoiseGeneration() {
+        if (!AVAILABLE || !EventTypes.NOISE_GENERATION.isEnabled())
+            return null;
+        NoiseGenerationEvent event = new NoiseGenerationEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endNoiseGeneration(NoiseGenerationEvent event, int dimension, int chunkX, int chunkZ, String carverType) {
+        if (event == null)
+            return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.dimension = dimension;
+            event.chunkX = chunkX;
+            event.chunkZ = chunkZ;
+            event.carverType = carverType;
+            event.commit();
+        }
+    }
+
+    public static TunnelTraceEvent beginTunnelTrace() {
+        if (!AVAILABLE || !EventTypes.TUNNEL_TRACE.isEnabled())
+            return null;
+        TunnelTraceEvent event = new TunnelTraceEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endTunnelTrace(TunnelTraceEvent event, int dimension, int chunkX, int chunkZ, String carverType) {
+        if (event == null)
+            return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.dimension = dimension;
+            event.chunkX = chunkX;
+            event.chunkZ = chunkZ;
+            event.carverType = carverType;
+            event.commit();
+        }
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Event types, held separately so that they are only looked up once JFR is known to be available.
+     */
+    private static class EventTypes {
+        static final EventType CHUNK_CARVE = EventType.getEventType(ChunkCarveEvent.class);
+        static final EventType NOISE_GENERATION = EventType.getEventType(NoiseGenerationEvent.class);
+        static final EventType TUNNEL_TRACE = EventType.getEventType(TunnelTraceEvent.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.enums.CaveType;
+import com.yungnickyoung.minecraft.bettercaves.noise.NoiseCube;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
+import com.yungnickyoung.minecraft.bettercaves.world.WorldBiomeView;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.cave.CaveCarver;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.cave.CaveCarverBuilder;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the FastNoise and OpenSimplex2S backends for one cave type.
+ *
+ * Two carvers are built from the same config, differing only in their noise backend, and both carve the same
+ * chunks of solid stone. Noise generation is timed separately from carving, and the carved blocks of the two
+ * backends are compared to show how much the cave layout changes.
+ */
+public class NoiseBackendBenchmark {
+    private static final IBlockState STONE = Blocks.STONE.getDefaultState();
+
+    private final CaveType caveType;
+    private final IBiomeView biomeView;
+    private final CaveCarver fastNoiseCarver;
+    private final CaveCarver openSimplexCarver;
+
+    public NoiseBackendBenchmark(World world, ConfigHolder config, CaveType caveType) {
+        this.caveType = caveType;
+        this.biomeView = new WorldBiomeView(world);
+        this.fastNoiseCarver = buildCarver(world, config, caveType, true);
+        this.openSimplexCarver = buildCarver(world, config, caveType, false);
+    }
+
+    private static CaveCarver buildCarver(World world, ConfigHolder config, CaveType caveType, boolean fastNoise) {
+        return new CaveCarverBuilder(world)
+            .ofTypeFromConfig(caveType, config)
+            .fastNoise(fastNoise)
+            .enableDebugVisualizer(false)
+            .build();
+    }
+
+    /**
+     * Carves a square of chunks with both backends.
+     * @param centerChunkX The x-coordinate of the center chunk
+     * @param centerChunkZ The z-coordinate of the center chunk
+     * @param radius Radius of the square, in chunks. A radius of 0 only uses the center chunk.
+     * @return Report lines
+     */
+    public List<String> run(int centerChunkX, int centerChunkZ, int radius) {
+        BackendResult fastNoise = new BackendResult("FastNoise");
+        BackendResult openSimplex = new BackendResult("OpenSimplex2S");
+        long bothCarved = 0;
+
+        // Warm up both backends on the center chunk so class loading and JIT compilation aren't timed
+        carve(fastNoiseCarver, centerChunkX, centerChunkZ, new BackendResult(""));
+        carve(openSimplexCarver, centerChunkX, centerChunkZ, new BackendResult(""));
+
+        int chunks = 0;
+        for (int chunkX = centerChunkX - radius; chunkX <= centerChunkX + radius; chunkX++) {
+            for (int chunkZ = centerChunkZ - radius; chunkZ <= centerChunkZ + radius; chunkZ++) {
+                // Alternate which backend goes first, so neither always runs with a warmer cache
+                ChunkPrimer fastNoisePrimer, openSimplexPrimer;
+                if ((chunks & 1) == 0) {
+                    fastNoisePrimer = carve(fastNoiseCarver, chunkX, chunkZ, fastNoise);
+                    openSimplexPrimer = carve(openSimplexCarver, chunkX, chunkZ, openSimplex);
+                } else {
+                    openSimplexPrimer = carve(openSimplexCarver, chunkX, chunkZ, openSimplex);
+                    fastNoisePrimer = carve(fastNoiseCarver, chunkX, chunkZ, fastNoise);
+                }
+                bothCarved += countBothCarved(fastNoisePrimer, openSimplexPrimer);
+                chunks++;
+            }
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("Better Caves noise benchmark: %s caves, %d chunks around chunk [%d, %d]",
+            caveType.name().toLowerCase(), chunks, centerChunkX, centerChunkZ));
+        report.add(fastNoise.getSummary());
+        report.add(openSimplex.getSummary());
+
+        long union = fastNoise.blocksCarved + openSimplex.blocksCarved - bothCarved;
+        double volumeChange = fastNoise.blocksCarved == 0 ? 0 : 100.0 * (openSimplex.blocksCarved - fastNoise.blocksCarved) / fastNoise.blocksCarved;
+        double overlap = union == 0 ? 100 : 100.0 * bothCarved / union;
+        double speedup = openSimplex.noiseNanos == 0 ? 0 : (double) openSimplex.noiseNanos / Math.max(fastNoise.noiseNanos, 1);
+        report.add(String.format("OpenSimplex2S carves %+.1f%% volume vs FastNoise; %.1f%% of carved blocks are shared. " +
+            "FastNoise noise is %.2fx as fast.", volumeChange, overlap, speedup));
+        return report;
+    }
+
+    /**
+     * Carves one chunk of solid stone with a carver, the same way the cave controller would if the whole chunk
+     * were in this carver's cave region.
+     * @return The carved chunk
+     */
+    private ChunkPrimer carve(CaveCarver carver, int chunkX, int chunkZ, BackendResult result) {
+        ChunkPrimer primer = new ChunkPrimer();
+        int bottomY = carver.getBottomY();
+        int topY = carver.getTopY();
+        for (int x = 0; x < 16; x++)
+            for (int z = 0; z < 16; z++)
+                for (int y = 1; y <= topY; y++)
+                    primer.setBlockState(x, y, z, STONE);
+
+        IBlockState liquidBlock = Blocks.LAVA.getDefaultState();
+        for (int startX = 0; startX < 16; startX += BCSettings.SUB_CHUNK_SIZE) {
+            for (int startZ = 0; startZ < 16; startZ += BCSettings.SUB_CHUNK_SIZE) {
+                BlockPos startPos = new BlockPos(chunkX * 16 + startX, 1, chunkZ * 16 + startZ);
+                BlockPos endPos = new BlockPos(chunkX * 16 + startX + BCSettings.SUB_CHUNK_SIZE - 1, 1, chunkZ * 16 + startZ + BCSettings.SUB_CHUNK_SIZE - 1);
+
+                long start = System.nanoTime();
+                NoiseCube cube = carver.getNoiseGen().interpolateNoiseCube(startPos, endPos, bottomY, topY);
+                long noiseEnd = System.nanoTime();
+                for (int offsetX = 0; offsetX < BCSettings.SUB_CHUNK_SIZE; offsetX++) {
+                    for (int offsetZ = 0; offsetZ < BCSettings.SUB_CHUNK_SIZE; offsetZ++) {
+                        BlockPos colPos = new BlockPos(startPos.getX() + offsetX, 1, startPos.getZ() + offsetZ);
+                        carver.carveColumn(primer, biomeView, colPos, topY, cube.get(offsetX).get(offsetZ), liquidBlock, false);
+                    }
+                }
+                result.carveNanos += System.nanoTime() - noiseEnd;
+                result.noiseNanos += noiseEnd - start;
+                result.noiseSamples += carver.getNoiseGen().getNoiseCubeSampleCount(bottomY, topY);
+            }
+        }
+
+        for (int x = 0; x < 16; x++)
+            for (int z = 0; z < 16; z++)
+                for (int y = 1; y <= topY; y++)
+                    if (primer.getBlockState(x, y, z) != STONE) result.blocksCarved++;
+        return primer;
+    }
+
+    /**
+     * @return Number of blocks carved in both chunks. Both carvers share the same top y-coordinate.
+     */
+    private long countBothCarved(ChunkPrimer a, ChunkPrimer b) {
+        int topY = fastNoiseCarver.getTopY();
+        long count = 0;
+        for (int x = 0; x < 16; x++)
+            for (int z = 0; z < 16; z++)
+                for (int y = 1; y <= topY; y++)
+                    if (a.getBlockState(x, y, z) != STONE && b.getBlockState(x, y, z) != STONE) count++;
+        return count;
+    }
+
+    private static class BackendResult {
+        final String name;
+        long noiseNanos, carveNanos, noiseSamples, blocksCarved;
+
+        BackendResult(String name) {
+            this.name = name;
+        }
+
+        String getSummary() {
+            double samplesPerSecond = noiseNanos == 0 ? 0 : noiseSamples / (noiseNanos / 1e9);
+            return String.format("%s: %d samples in %.1f ms (%.2fM samples/s), carving %.1f ms, %d blocks carved",
+                name, noiseSamples, noiseNanos / 1e6, samplesPerSecond / 1e6, carveNanos / 1e6, blocksCarved);
+        }
+    }
+}
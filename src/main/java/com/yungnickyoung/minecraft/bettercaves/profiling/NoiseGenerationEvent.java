@@ -0,0 +1,30 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the generation of one carver's noise cube for a sub-chunk.
+ * Only created through {@link JfrEvents}.
+ */
+@Name("bettercaves.NoiseGeneration")
+@Label("Noise Generation")
+@Category("Better Caves")
+@Description("A cave or cavern carver generating the 3D noise for one sub-chunk")
+@StackTrace(false)
+public class NoiseGenerationEvent extends jdk.jfr.Event {
+    @Label("Dimension")
+    int dimension;
+
+    @Label("Chunk X")
+    int chunkX;
+
+    @Label("Chunk Z")
+    int chunkZ;
+
+    @Label("Carver Type")
+    String carverType;
+}
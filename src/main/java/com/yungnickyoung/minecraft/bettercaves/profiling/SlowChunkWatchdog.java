@@ -0,0 +1,67 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
+import com.yungnickyoung.minecraft.bettercaves.config.Configuration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs chunks that take longer than the configured threshold to carve.
+ *
+ * Each report is a single line holding the chunk's coordinates, the time spent in each {@link GenerationStage},
+ * the features carved into it and how much noise it sampled.
+ * Reports are rate-limited; slow chunks found while rate-limited are counted, and the count is included
+ * in the next report.
+ * This class may not be instantiated - all members are {@code static}.
+ */
+public class SlowChunkWatchdog {
+    private SlowChunkWatchdog() {} // Private constructor prevents instantiation
+
+    private static final GenerationStage[] STAGES = GenerationStage.values();
+
+    private static final AtomicLong nextReportMillis = new AtomicLong();
+    private static final AtomicInteger suppressed = new AtomicInteger();
+
+    /**
+     * @return true if chunks should be checked against the slow chunk threshold
+     */
+    public static boolean isEnabled() {
+        return Configuration.debugsettings.slowChunkThreshold > 0;
+    }
+
+    /**
+     * Reports a finished chunk if it exceeded the threshold. May be called from any thread.
+     */
+    public static void check(int dimensionID, int chunkX, int chunkZ, ChunkProfile profile) {
+        long thresholdMillis = Configuration.debugsettings.slowChunkThreshold;
+        if (thresholdMillis <= 0 || profile.getTotalNanos() < thresholdMillis * 1000000L)
+            return;
+
+        long now = System.currentTimeMillis();
+        long next = nextReportMillis.get();
+        if (now < next || !nextReportMillis.compareAndSet(next, now + Configuration.debugsettings.slowChunkLogInterval * 1000L)) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        BetterCaves.LOGGER.warn(getReport(dimensionID, chunkX, chunkZ, profile, thresholdMillis, suppressed.getAndSet(0)));
+    }
+
+    private static String getReport(int dimensionID, int chunkX, int chunkZ, ChunkProfile profile, long thresholdMillis, int suppressedCount) {
+        StringBuilder report = new StringBuilder(String.format(
+            "Slow Better Caves chunk: DIM %d chunk [%d, %d] (blocks [%d, %d]) took %.3f ms (threshold %d ms) |",
+            dimensionID, chunkX, chunkZ, chunkX * 16, chunkZ * 16, profile.getTotalNanos() / 1000000.0, thresholdMillis));
+
+        for (GenerationStage stage : STAGES)
+            report.append(String.format(" %s %.3f,", stage.getLabel(), profile.getStageNanos(stage) / 1000000.0));
+        report.setLength(report.length() - 1);
+
+        report.append(String.format(" | carved: %s | %d noise samples, %d noise cubes, %d columns carved",
+            ChunkProfile.getFlagNames(profile.getFlags()), profile.getNoiseSamples(), profile.getNoiseCubes(), profile.getColumnsCarved()));
+
+        if (suppressedCount > 0)
+            report.append(String.format(" | %d more slow chunks since the last report", suppressedCount));
+        return report.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering a vanilla-style carver tracing all tunnels that reach a single chunk.
+ * Only created through {@link JfrEvents}.
+ */
+@Name("bettercaves.TunnelTrace")
+@Label("Tunnel Trace")
+@Category("Better Caves")
+@Description("Vanilla or surface caves tracing the tunnels of every nearby chunk into a single chunk")
+@StackTrace(false)
+public class TunnelTraceEvent extends jdk.jfr.Event {
+    @Label("Dimension")
+    int dimension;
+
+    @Label("Chunk X")
+    int chunkX;
+
+    @Label("Chunk Z")
+    int chunkZ;
+
+    @Label("Carver Type")
+    String carverType;
+}
@@ -0,0 +1,143 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling.heatmap;
+
+import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
+import com.yungnickyoung.minecraft.bettercaves.config.Configuration;
+import com.yungnickyoung.minecraft.bettercaves.profiling.ChunkProfile;
+import net.minecraftforge.common.DimensionManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the cost of every chunk carved while chunk cost recording is enabled, for rendering as a heatmap.
+ *
+ * Generator threads only write to in-memory {@link HeatmapRegion}s. Pending regions are merged into the region
+ * files in the world save folder periodically on the server thread, when the server stops, and on demand.
+ * This class may not be instantiated - all members are {@code static}.
+ */
+public class HeatmapRecorder {
+    private HeatmapRecorder() {} // Private constructor prevents instantiation
+
+    private static final String HEATMAP_DIR = "bettercaves" + File.separator + "heatmap";
+
+    /** How often pending regions are written to disk, in milliseconds */
+    private static final long FLUSH_INTERVAL_MILLIS = 30000;
+
+    private static final Map<RegionKey, PendingRegion> PENDING = new ConcurrentHashMap<>();
+    private static long lastFlushMillis = System.currentTimeMillis();
+
+    /**
+     * @return true if chunk costs should be recorded
+     */
+    public static boolean isEnabled() {
+        return Configuration.debugsettings.enableChunkCostRecording;
+    }
+
+    /**
+     * Enables or disables recording until the config is next reloaded.
+     */
+    public static void setEnabled(boolean enabled) {
+        Configuration.debugsettings.enableChunkCostRecording = enabled;
+    }
+
+    /**
+     * Records a finished chunk's profile. May be called from any thread.
+     */
+    public static void record(int dimensionID, int chunkX, int chunkZ, ChunkProfile profile) {
+        RegionKey key = new RegionKey(dimensionID, chunkX >> 5, chunkZ >> 5);
+        while (true) {
+            PendingRegion pending = PENDING.computeIfAbsent(key, k -> new PendingRegion());
+            synchronized (pending) {
+                // Retry if this region was flushed after we looked it up
+                if (!pending.flushed) {
+                    pending.region.set(chunkX & 31, chunkZ & 31, profile);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes pending regions to disk once the flush interval has passed. Should be called once per server tick.
+     */
+    public static void tick() {
+        long now = System.currentTimeMillis();
+        if (now - lastFlushMillis >= FLUSH_INTERVAL_MILLIS) {
+            lastFlushMillis = now;
+            flush();
+        }
+    }
+
+    /**
+     * Merges every pending region into its region file.
+     * Pending regions are dropped if no world save is loaded.
+     */
+    public static void flush() {
+        for (Map.Entry<RegionKey, PendingRegion> entry : PENDING.entrySet()) {
+            RegionKey key = entry.getKey();
+            PendingRegion pending = entry.getValue();
+            if (!PENDING.remove(key, pending))
+                continue;
+
+            HeatmapRegion region;
+            synchronized (pending) {
+                pending.flushed = true;
+                region = pending.region;
+            }
+
+            File dir = getDimensionDir(key.dimensionID);
+            if (dir == null)
+                continue;
+
+            File file = new File(dir, HeatmapRegion.getFileName(key.regionX, key.regionZ));
+            try {
+                if (!dir.exists() && !dir.mkdirs())
+                    throw new IOException("could not create directory " + dir);
+                HeatmapRegion merged = HeatmapRegion.read(file);
+                merged.merge(region);
+                merged.write(file);
+            } catch (IOException e) {
+                BetterCaves.LOGGER.warn("Unable to write Better Caves heatmap region " + file + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * @return Directory holding a dimension's heatmap regions, or null if no world save is loaded
+     */
+    public static File getDimensionDir(int dimensionID) {
+        File saveDir = DimensionManager.getCurrentSaveRootDirectory();
+        return saveDir == null ? null : new File(new File(saveDir, HEATMAP_DIR), "DIM" + dimensionID);
+    }
+
+    private static class PendingRegion {
+        final HeatmapRegion region = new HeatmapRegion();
+        boolean flushed;
+    }
+
+    private static class RegionKey {
+        final int dimensionID, regionX, regionZ;
+
+        RegionKey(int dimensionID, int regionX, int regionZ) {
+            this.dimensionID = dimensionID;
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RegionKey)) return false;
+            RegionKey other = (RegionKey) o;
+            return dimensionID == other.dimensionID && regionX == other.regionX && regionZ == other.regionZ;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimensionID, regionX, regionZ);
+        }
+    }
+}
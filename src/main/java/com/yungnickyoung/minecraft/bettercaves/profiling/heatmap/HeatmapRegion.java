@@ -0,0 +1,139 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling.heatmap;
+
+import com.yungnickyoung.minecraft.bettercaves.profiling.ChunkProfile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Per-chunk cost records for a 32x32 chunk region, matching the layout of vanilla region files.
+ *
+ * Each chunk has a fixed-size record, so a region file is always {@link #FILE_SIZE} bytes and any chunk's record
+ * can be located from its coordinates alone. Records are only present for chunks generated while recording.
+ * Instances are not thread-safe; {@link HeatmapRecorder} synchronizes access to them.
+ */
+public class HeatmapRegion {
+    /** Width of a region, in chunks */
+    public static final int SIZE = 32;
+
+    private static final int MAGIC = 0x4243484D; // "BCHM"
+    private static final int VERSION = 1;
+
+    /** Number of ints in each chunk's record */
+    private static final int RECORD_INTS = 4;
+    private static final int FILE_SIZE = 8 + SIZE * SIZE * RECORD_INTS * 4;
+
+    /* Offsets of each field within a record */
+    private static final int TIME = 0;         // Total carve time, in microseconds
+    private static final int NOISE = 1;        // Noise samples
+    private static final int WORK = 2;         // Columns carved in the low 16 bits, noise cubes in the high 16 bits
+    private static final int FLAGS = 3;        // ChunkProfile flags, plus PRESENT
+
+    /** Marks records that hold data, since a chunk's values may legitimately all be 0 */
+    private static final int PRESENT = 1 << 31;
+
+    private final int[] records = new int[SIZE * SIZE * RECORD_INTS];
+
+    /**
+     * Stores a chunk's profile, replacing any existing record for it.
+     * @param localX The chunk's x-coordinate within this region, from 0 to 31
+     * @param localZ The chunk's z-coordinate within this region, from 0 to 31
+     */
+    public void set(int localX, int localZ, ChunkProfile profile) {
+        int i = index(localX, localZ);
+        records[i + TIME] = (int) Math.min(profile.getTotalNanos() / 1000, Integer.MAX_VALUE);
+        records[i + NOISE] = profile.getNoiseSamples();
+        records[i + WORK] = Math.min(profile.getColumnsCarved(), 0xFFFF) | Math.min(profile.getNoiseCubes(), 0xFFFF) << 16;
+        records[i + FLAGS] = profile.getFlags() | PRESENT;
+    }
+
+    public boolean isPresent(int localX, int localZ) {
+        return (records[index(localX, localZ) + FLAGS] & PRESENT) != 0;
+    }
+
+    public int getMicros(int localX, int localZ) {
+        return records[index(localX, localZ) + TIME];
+    }
+
+    public int getNoiseSamples(int localX, int localZ) {
+        return records[index(localX, localZ) + NOISE];
+    }
+
+    public int getColumnsCarved(int localX, int localZ) {
+        return records[index(localX, localZ) + WORK] & 0xFFFF;
+    }
+
+    public int getNoiseCubes(int localX, int localZ) {
+        return records[index(localX, localZ) + WORK] >>> 16;
+    }
+
+    public int getFlags(int localX, int localZ) {
+        return records[index(localX, localZ) + FLAGS] & ~PRESENT;
+    }
+
+    /**
+     * Copies every present record of another region into this one.
+     */
+    public void merge(HeatmapRegion other) {
+        for (int i = 0; i < records.length; i += RECORD_INTS) {
+            if ((other.records[i + FLAGS] & PRESENT) != 0)
+                System.arraycopy(other.records, i, records, i, RECORD_INTS);
+        }
+    }
+
+    /**
+     * Reads a region file.
+     * @return The region, or an empty region if the file does not exist
+     * @throws IOException if the file exists but can't be read or is not a valid region file
+     */
+    public static HeatmapRegion read(File file) throws IOException {
+        HeatmapRegion region = new HeatmapRegion();
+        if (!file.exists())
+            return region;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("not a Better Caves heatmap region: " + file);
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("unsupported heatmap region version " + version + ": " + file);
+            for (int i = 0; i < region.records.length; i++)
+                region.records[i] = in.readInt();
+        }
+        return region;
+    }
+
+    /**
+     * Writes this region to a file. The file is written to a temporary file first, then moved into place,
+     * so a crash never leaves a partially written region behind.
+     */
+    public void write(File file) throws IOException {
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile), FILE_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (int record : records)
+                out.writeInt(record);
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return Name of the file holding the region with the given region coordinates
+     */
+    public static String getFileName(int regionX, int regionZ) {
+        return "r." + regionX + "." + regionZ + ".bch";
+    }
+
+    private static int index(int localX, int localZ) {
+        return (localZ * SIZE + localX) * RECORD_INTS;
+    }
+}
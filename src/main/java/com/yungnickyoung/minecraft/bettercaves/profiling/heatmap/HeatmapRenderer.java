@@ -0,0 +1,164 @@
+package com.yungnickyoung.minecraft.bettercaves.profiling.heatmap;
+
+import com.yungnickyoung.minecraft.bettercaves.profiling.ChunkProfile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders a dimension's heatmap region files to a PNG image, with one pixel per chunk.
+ * Only reads the region files, so it can also be run outside of the game:
+ *
+ * Usage: HeatmapRenderer <dimensionDir> <output.png> [time|noise|columns|cubes|features]
+ *
+ * Cost metrics are drawn from blue (cheapest) to red, with everything at or above the 99th percentile in red.
+ * The {@code features} metric instead shows what was carved: red for caverns, green for caves and blue for
+ * flooded (ocean) columns. Chunks without a record are transparent.
+ * This class may not be instantiated - all members are {@code public} and {@code static},
+ * and as such may be accessed freely.
+ */
+public class HeatmapRenderer {
+    private HeatmapRenderer() {} // Private constructor prevents instantiation
+
+    /** Largest image side length, in chunks, that will be rendered */
+    private static final int MAX_SIZE = 16384;
+
+    private static final Pattern REGION_FILE = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.bch");
+
+    private static final int CAVE_FLAGS = ChunkProfile.FLAG_CUBIC_CAVES | ChunkProfile.FLAG_SIMPLEX_CAVES
+        | ChunkProfile.FLAG_VANILLA_CAVES | ChunkProfile.FLAG_SURFACE_CAVES;
+    private static final int CAVERN_FLAGS = ChunkProfile.FLAG_LIQUID_CAVERNS | ChunkProfile.FLAG_FLOORED_CAVERNS;
+
+    public enum Metric {
+        TIME, NOISE, COLUMNS, CUBES, FEATURES
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: HeatmapRenderer <dimensionDir> <output.png> [time|noise|columns|cubes|features]");
+            System.exit(2);
+        }
+        Metric metric = args.length > 2 ? Metric.valueOf(args[2].toUpperCase()) : Metric.TIME;
+        System.out.println(render(new File(args[0]), new File(args[1]), metric));
+    }
+
+    /**
+     * Renders every region file in a directory.
+     * @return Short description of what was rendered
+     * @throws IOException if there are no region files, the area is too large, or a file can't be read or written
+     */
+    public static String render(File dimensionDir, File output, Metric metric) throws IOException {
+        Map<Long, HeatmapRegion> regions = new HashMap<>();
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+
+        File[] files = dimensionDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Matcher matcher = REGION_FILE.matcher(file.getName());
+                if (!matcher.matches())
+                    continue;
+                int regionX = Integer.parseInt(matcher.group(1));
+                int regionZ = Integer.parseInt(matcher.group(2));
+                regions.put(regionKey(regionX, regionZ), HeatmapRegion.read(file));
+                minX = Math.min(minX, regionX);
+                minZ = Math.min(minZ, regionZ);
+                maxX = Math.max(maxX, regionX);
+                maxZ = Math.max(maxZ, regionZ);
+            }
+        }
+        if (regions.isEmpty())
+            throw new IOException("no heatmap regions found in " + dimensionDir);
+
+        long width = (maxX - minX + 1L) * HeatmapRegion.SIZE;
+        long height = (maxZ - minZ + 1L) * HeatmapRegion.SIZE;
+        if (width > MAX_SIZE || height > MAX_SIZE)
+            throw new IOException("recorded area is too large to render: " + width + "x" + height + " chunks");
+
+        int scale = metric == Metric.FEATURES ? 1 : percentile99(regions, metric);
+
+        BufferedImage image = new BufferedImage((int) width, (int) height, BufferedImage.TYPE_INT_ARGB);
+        int chunks = 0;
+        for (int regionX = minX; regionX <= maxX; regionX++) {
+            for (int regionZ = minZ; regionZ <= maxZ; regionZ++) {
+                HeatmapRegion region = regions.get(regionKey(regionX, regionZ));
+                if (region == null)
+                    continue;
+                for (int x = 0; x < HeatmapRegion.SIZE; x++) {
+                    for (int z = 0; z < HeatmapRegion.SIZE; z++) {
+                        if (!region.isPresent(x, z))
+                            continue;
+                        int pixelX = (regionX - minX) * HeatmapRegion.SIZE + x;
+                        int pixelZ = (regionZ - minZ) * HeatmapRegion.SIZE + z;
+                        image.setRGB(pixelX, pixelZ, getColor(region, x, z, metric, scale));
+                        chunks++;
+                    }
+                }
+            }
+        }
+
+        if (output.getParentFile() != null && !output.getParentFile().exists() && !output.getParentFile().mkdirs())
+            throw new IOException("could not create directory " + output.getParentFile());
+        ImageIO.write(image, "png", output);
+
+        return String.format("Rendered %d chunks (%s) to %s. Top-left chunk is [%d, %d]%s.",
+            chunks, metric.name().toLowerCase(), output.getPath(),
+            minX * HeatmapRegion.SIZE, minZ * HeatmapRegion.SIZE,
+            metric == Metric.FEATURES ? "" : "; red is " + scale + " or more");
+    }
+
+    private static int getColor(HeatmapRegion region, int x, int z, Metric metric, int scale) {
+        if (metric == Metric.FEATURES) {
+            int flags = region.getFlags(x, z);
+            int red = (flags & CAVERN_FLAGS) != 0 ? 255 : 40;
+            int green = (flags & CAVE_FLAGS) != 0 ? 255 : 40;
+            int blue = (flags & ChunkProfile.FLAG_FLOODED) != 0 ? 255 : 40;
+            return 0xFF000000 | red << 16 | green << 8 | blue;
+        }
+
+        float t = Math.min((float) getValue(region, x, z, metric) / scale, 1f);
+        return 0xFF000000 | Color.HSBtoRGB((1 - t) * .66f, 1f, 1f);
+    }
+
+    /**
+     * @return The 99th percentile of a metric over all recorded chunks, used as the top of the color scale
+     */
+    private static int percentile99(Map<Long, HeatmapRegion> regions, Metric metric) {
+        int[] values = new int[regions.size() * HeatmapRegion.SIZE * HeatmapRegion.SIZE];
+        int count = 0;
+        for (HeatmapRegion region : regions.values())
+            for (int x = 0; x < HeatmapRegion.SIZE; x++)
+                for (int z = 0; z < HeatmapRegion.SIZE; z++)
+                    if (region.isPresent(x, z))
+                        values[count++] = getValue(region, x, z, metric);
+
+        if (count == 0)
+            return 1;
+        Arrays.sort(values, 0, count);
+        return Math.max(values[(int) (count * .99)], 1);
+    }
+
+    private static int getValue(HeatmapRegion region, int x, int z, Metric metric) {
+        switch (metric) {
+            case NOISE:
+                return region.getNoiseSamples(x, z);
+            case COLUMNS:
+                return region.getColumnsCarved(x, z);
+            case CUBES:
+                return region.getNoiseCubes(x, z);
+            default: // TIME
+                return region.getMicros(x, z);
+        }
+    }
+
+    private static long regionKey(int regionX, int regionZ) {
+        return (long) regionX & 0xFFFFFFFFL | ((long) regionZ & 0xFFFFFFFFL) << 32;
+    }
+}
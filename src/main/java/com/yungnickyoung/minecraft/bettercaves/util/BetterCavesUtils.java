@@ -1,12 +1,12 @@
 package com.yungnickyoung.minecraft.bettercaves.util;
 
 import com.yungnickyoung.minecraft.bettercaves.config.Configuration;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.ChunkPrimer;
 
@@ -93,23 +93,23 @@ public class BetterCavesUtils {
      * This function is primarily used to search for nearby ocean/non-ocean biomes to close off flooded caves
      * from non-flooded caves, preventing weird water walls.
      *
-     * @param world World
+     * @param biomeView Biome view to search in
      * @param pos Center position to search around
      * @param radius Radius of search circle
      * @param isTargetBiome Function to use when testing if a given block's biome is the biome we are lookin for
      */
-    public static float biomeDistanceFactor(World world, BlockPos pos, int radius, Predicate<Biome> isTargetBiome) {
+    public static float biomeDistanceFactor(IBiomeView biomeView, BlockPos pos, int radius, Predicate<Biome> isTargetBiome) {
         BlockPos.MutableBlockPos checkpos = new BlockPos.MutableBlockPos();
         for (int i = 1; i <= radius; i++) {
             for (int j = 0; j <= i; j++) {
                 for (EnumFacing direction : EnumFacing.Plane.HORIZONTAL) {
                     checkpos.setPos(pos).move(direction, i).move(direction.rotateY(), j);
-                    if (isTargetBiome.test(world.getBiome(checkpos))) {
+                    if (isTargetBiome.test(biomeView.getBiome(checkpos))) {
                         return (float)(i + j) / (2 * radius);
                     }
                     if (j != 0 && i != j) {
                         checkpos.setPos(pos).move(direction, i).move(direction.rotateYCCW(), j);
-                        if (isTargetBiome.test(world.getBiome(checkpos))) {
+                        if (isTargetBiome.test(biomeView.getBiome(checkpos))) {
                             return (float)(i + j) / (2 * radius);
                         }
                     }
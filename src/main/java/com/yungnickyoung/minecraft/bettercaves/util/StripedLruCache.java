@@ -0,0 +1,139 @@
+package com.yungnickyoung.minecraft.bettercaves.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Size-bounded, thread-safe LRU cache.
+ *
+ * The cache is split into stripes, each an LRU map guarded by its own lock, so generator threads working on
+ * different keys rarely contend. Keys are spread over the stripes by a stripe hash given by the owner of the
+ * cache, since hash codes of structured keys are often poorly spread. Each stripe holds an equal share of the
+ * capacity and evicts its own least recently used entries.
+ *
+ * Values are never computed while a lock is held. Callers look a value up, compute it on a miss, and store it;
+ * if two threads race on the same key, both compute a value and one of them is kept.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class StripedLruCache<K, V> {
+    private final Stripe<K, V>[] stripes;
+    private final int stripeMask;
+    private final ToIntFunction<? super K> stripeHash;
+
+    /**
+     * @param capacity Maximum number of entries held across all stripes
+     * @param numStripes Number of independently locked stripes. Must be a power of 2.
+     * @param stripeHash Hash picking the stripe a key is stored in. Only its low bits are used.
+     */
+    @SuppressWarnings("unchecked")
+    public StripedLruCache(int capacity, int numStripes, ToIntFunction<? super K> stripeHash) {
+        if (Integer.bitCount(numStripes) != 1)
+            throw new IllegalArgumentException("Number of stripes must be a power of 2: " + numStripes);
+
+        this.stripeHash = stripeHash;
+        this.stripeMask = numStripes - 1;
+        this.stripes = new Stripe[numStripes];
+        int stripeCapacity = Math.max(capacity / numStripes, 1);
+        for (int i = 0; i < numStripes; i++)
+            stripes[i] = new Stripe<>(stripeCapacity);
+    }
+
+    /**
+     * Stripe hash for chunk keys packed by {@code ChunkPos.asLong}. Long's own hash code folds x and z together,
+     * so nearby chunks would share stripes; this mixes the whole key instead, so neighboring chunks land in
+     * different stripes.
+     */
+    public static int hashChunkKey(Long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    /**
+     * @return The value cached for a key, or null if there is none
+     */
+    public V get(K key) {
+        return stripeFor(key).get(key);
+    }
+
+    /**
+     * Caches a value, replacing any value already cached for its key.
+     */
+    public void put(K key, V value) {
+        stripeFor(key).put(key, value);
+    }
+
+    /**
+     * Caches a value, unless a value is already cached for its key.
+     */
+    public void putIfAbsent(K key, V value) {
+        stripeFor(key).putIfAbsent(key, value);
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes)
+            stripe.clear();
+    }
+
+    private Stripe<K, V> stripeFor(K key) {
+        return stripes[stripeHash.applyAsInt(key) & stripeMask];
+    }
+
+    /**
+     * A single LRU map and the lock guarding it.
+     */
+    private static class Stripe<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, V> map;
+
+        Stripe(final int capacity) {
+            this.map = new LinkedHashMap<K, V>(capacity * 4 / 3 + 1, .75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        V get(K key) {
+            lock.lock();
+            try {
+                return map.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(K key, V value) {
+            lock.lock();
+            try {
+                map.put(key, value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void putIfAbsent(K key, V value) {
+            lock.lock();
+            try {
+                map.putIfAbsent(key, value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                map.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -7,6 +7,14 @@ import com.yungnickyoung.minecraft.bettercaves.enums.CaveType;
 import com.yungnickyoung.minecraft.bettercaves.enums.RegionSize;
 import com.yungnickyoung.minecraft.bettercaves.noise.FastNoise;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseColumn;
+import com.yungnickyoung.minecraft.bettercaves.noise.NoiseCube;
+import com.yungnickyoung.minecraft.bettercaves.profiling.ChunkProfile;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStage;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
+import com.yungnickyoung.minecraft.bettercaves.profiling.JfrEvents;
+import com.yungnickyoung.minecraft.bettercaves.profiling.NoiseGenerationEvent;
+import com.yungnickyoung.minecraft.bettercaves.profiling.TunnelTraceEvent;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverNoiseRange;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.ICarver;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.cave.CaveCarver;
@@ -17,15 +25,19 @@ import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraftforge.common.BiomeDictionary;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Carves caves in a chunk. Holds no per-chunk state, so a single instance may carve several chunks concurrently.
+ */
 public class CaveCarverController {
-    private World world;
+    private long seed;
+    private int dimensionID;
     private VanillaCaveCarver surfaceCaveCarver; // only used if surface caves enabled
     private FastNoise caveRegionController;
     private List<CarverNoiseRange> noiseRanges = new ArrayList<>();
@@ -37,7 +49,8 @@ public class CaveCarverController {
     private boolean isFloodedUndergroundEnabled;
 
     public CaveCarverController(World worldIn, ConfigHolder config) {
-        this.world = worldIn;
+        this.seed = worldIn.getSeed();
+        this.dimensionID = worldIn.provider.getDimension();
         this.isDebugViewEnabled = config.debugVisualizer.get();
         this.isOverrideSurfaceDetectionEnabled = config.overrideSurfaceDetection.get();
         this.isSurfaceCavesEnabled = config.isSurfaceCavesEnabled.get();
@@ -115,12 +128,19 @@ public class CaveCarverController {
         }
     }
 
-    public void carveChunk(ChunkPrimer primer, int chunkX, int chunkZ, int[][] surfaceAltitudes, IBlockState[][] liquidBlocks) {
+    /**
+     * @param profile Profile to record this chunk's stage times and work to, or null if profiling is disabled
+     */
+    public void carveChunk(ChunkPrimer primer, int chunkX, int chunkZ, int[][] surfaceAltitudes, IBlockState[][] liquidBlocks, IBiomeView biomeView, ChunkProfile profile) {
         // Prevent unnecessary computation if caves are disabled
         if (noiseRanges.size() == 0 && !isSurfaceCavesEnabled) {
             return;
         }
 
+        // Per-column stages are summed locally and added to the profile once at the end
+        long regionNanos = 0, noiseNanos = 0, carveNanos = 0;
+        long time;
+
         boolean flooded;
 
         // Flag to keep track of whether or not we've already carved vanilla caves for this chunk, since
@@ -131,6 +151,9 @@ public class CaveCarverController {
         // indicating which x-z coordinates are valid to be carved in
         boolean[][] vanillaCarvingMask = new boolean[16][16];
 
+        // Noise cubes for the current subchunk, indexed the same as noiseRanges. Computed lazily.
+        NoiseCube[] noiseCubes = new NoiseCube[noiseRanges.size()];
+
         // Break into subchunks for noise interpolation
         for (int subX = 0; subX < 16 / BCSettings.SUB_CHUNK_SIZE; subX++) {
             for (int subZ = 0; subZ < 16 / BCSettings.SUB_CHUNK_SIZE; subZ++) {
@@ -141,7 +164,7 @@ public class CaveCarverController {
                 BlockPos startPos = new BlockPos(chunkX * 16 + startX, 1, chunkZ * 16 + startZ);
                 BlockPos endPos = new BlockPos(chunkX * 16 + endX, 1, chunkZ * 16 + endZ);
 
-                noiseRanges.forEach(range -> range.setNoiseCube(null));
+                Arrays.fill(noiseCubes, null);
 
                 // Get max height in subchunk. This is needed for calculating the noise cube
                 int maxHeight = 0;
@@ -162,26 +185,34 @@ public class CaveCarverController {
                         int localX = startX + offsetX;
                         int localZ = startZ + offsetZ;
                         BlockPos colPos = new BlockPos(chunkX * 16 + localX, 1, chunkZ * 16 + localZ);
-                        flooded = isFloodedUndergroundEnabled && !isDebugViewEnabled && BiomeDictionary.hasType(world.getBiome(colPos), BiomeDictionary.Type.OCEAN);
+                        flooded = isFloodedUndergroundEnabled && !isDebugViewEnabled && BiomeDictionary.hasType(biomeView.getBiome(colPos), BiomeDictionary.Type.OCEAN);
                         if (flooded) {
                             if (
-                                !BiomeDictionary.hasType(world.getBiome(colPos.east()), BiomeDictionary.Type.OCEAN) ||
-                                !BiomeDictionary.hasType(world.getBiome(colPos.north()), BiomeDictionary.Type.OCEAN) ||
-                                !BiomeDictionary.hasType(world.getBiome(colPos.west()), BiomeDictionary.Type.OCEAN) ||
-                                !BiomeDictionary.hasType(world.getBiome(colPos.south()), BiomeDictionary.Type.OCEAN)
+                                !BiomeDictionary.hasType(biomeView.getBiome(colPos.east()), BiomeDictionary.Type.OCEAN) ||
+                                !BiomeDictionary.hasType(biomeView.getBiome(colPos.north()), BiomeDictionary.Type.OCEAN) ||
+                                !BiomeDictionary.hasType(biomeView.getBiome(colPos.west()), BiomeDictionary.Type.OCEAN) ||
+                                !BiomeDictionary.hasType(biomeView.getBiome(colPos.south()), BiomeDictionary.Type.OCEAN)
                             ) {
                                 continue;
                             }
+                            if (profile != null) profile.addFlags(ChunkProfile.FLAG_FLOODED);
                         }
 
                         int surfaceAltitude = surfaceAltitudes[localX][localZ];
                         IBlockState liquidBlock = liquidBlocks[localX][localZ];
 
                         // Get noise values used to determine cave region
+                        time = profile == null ? 0 : System.nanoTime();
                         float caveRegionNoise = caveRegionController.GetNoise(colPos.getX(), colPos.getZ());
+                        GenerationStats.increment(GenerationCounter.NOISE_SAMPLES);
+                        if (profile != null) {
+                            regionNanos += System.nanoTime() - time;
+                            profile.addNoiseSamples(1);
+                        }
 
                         // Carve cave using matching carver
-                        for (CarverNoiseRange range : noiseRanges) {
+                        for (int i = 0; i < noiseRanges.size(); i++) {
+                            CarverNoiseRange range = noiseRanges.get(i);
                             if (!range.contains(caveRegionNoise)) {
                                 continue;
                             }
@@ -197,11 +228,25 @@ public class CaveCarverController {
                                     topY = 128;
                                     maxHeight = 128;
                                 }
-                                if (range.getNoiseCube() == null) {
-                                    range.setNoiseCube(carver.getNoiseGen().interpolateNoiseCube(startPos, endPos, bottomY, maxHeight));
+                                if (noiseCubes[i] == null) {
+                                    time = profile == null ? 0 : System.nanoTime();
+                                    NoiseGenerationEvent noiseEvent = JfrEvents.beginNoiseGeneration();
+                                    noiseCubes[i] = carver.getNoiseGen().interpolateNoiseCube(startPos, endPos, bottomY, maxHeight);
+                                    JfrEvents.endNoiseGeneration(noiseEvent, dimensionID, chunkX, chunkZ, String.valueOf(carver.getCaveType()));
+                                    if (profile != null) {
+                                        noiseNanos += System.nanoTime() - time;
+                                        profile.addNoiseCube();
+                                        profile.addNoiseSamples(carver.getNoiseGen().getNoiseCubeSampleCount(bottomY, maxHeight));
+                                    }
+                                }
+                                NoiseColumn noiseColumn = noiseCubes[i].get(offsetX).get(offsetZ);
+                                time = profile == null ? 0 : System.nanoTime();
+                                carver.carveColumn(primer, biomeView, colPos, topY, noiseColumn, liquidBlock, flooded);
+                                if (profile != null) {
+                                    carveNanos += System.nanoTime() - time;
+                                    profile.addColumnCarved();
+                                    profile.addFlags(carver.getCaveType() == CaveType.SIMPLEX ? ChunkProfile.FLAG_SIMPLEX_CAVES : ChunkProfile.FLAG_CUBIC_CAVES);
                                 }
-                                NoiseColumn noiseColumn = range.getNoiseCube().get(offsetX).get(offsetZ);
-                                carver.carveColumn(primer, colPos, topY, noiseColumn, liquidBlock, flooded);
                                 break;
                             }
                             else if (range.getCarver() instanceof VanillaCaveCarver) {
@@ -213,6 +258,13 @@ public class CaveCarverController {
                 }
             }
         }
+        if (profile != null) {
+            profile.add(GenerationStage.CAVE_REGION, regionNanos);
+            profile.add(GenerationStage.CAVE_NOISE, noiseNanos);
+            profile.add(GenerationStage.CAVE_CARVE, carveNanos);
+        }
+
+        time = profile == null ? 0 : System.nanoTime();
         if (shouldCarveVanillaCaves) {
             VanillaCaveCarver carver = null;
             for (CarverNoiseRange range : noiseRanges) {
@@ -222,15 +274,34 @@ public class CaveCarverController {
                 }
             }
             if (carver != null) {
-                carver.generate(world, chunkX, chunkZ, primer, true, liquidBlocks, vanillaCarvingMask);
+                TunnelTraceEvent tunnelEvent = JfrEvents.beginTunnelTrace();
+                carver.generate(seed, biomeView, chunkX, chunkZ, primer, true, liquidBlocks, vanillaCarvingMask);
+                JfrEvents.endTunnelTrace(tunnelEvent, dimensionID, chunkX, chunkZ, "VANILLA");
+            }
+            if (profile != null) {
+                time = profile.record(GenerationStage.VANILLA_CAVES, time);
+                profile.addFlags(ChunkProfile.FLAG_VANILLA_CAVES);
             }
         }
         // Generate surface caves if enabled
         if (isSurfaceCavesEnabled) {
-            surfaceCaveCarver.generate(world, chunkX, chunkZ, primer, false, liquidBlocks);
+            TunnelTraceEvent tunnelEvent = JfrEvents.beginTunnelTrace();
+            surfaceCaveCarver.generate(seed, biomeView, chunkX, chunkZ, primer, false, liquidBlocks);
+            JfrEvents.endTunnelTrace(tunnelEvent, dimensionID, chunkX, chunkZ, "SURFACE");
+            if (profile != null) {
+                profile.record(GenerationStage.SURFACE_CAVES, time);
+                profile.addFlags(ChunkProfile.FLAG_SURFACE_CAVES);
+            }
         }
     }
 
+    /**
+     * @return Noise function used to determine which type of cave each column belongs to
+     */
+    public FastNoise getRegionController() {
+        return caveRegionController;
+    }
+
     /**
      * @return frequency value for cave region controller
      */
@@ -7,6 +7,13 @@ import com.yungnickyoung.minecraft.bettercaves.enums.CavernType;
 import com.yungnickyoung.minecraft.bettercaves.enums.RegionSize;
 import com.yungnickyoung.minecraft.bettercaves.noise.FastNoise;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseColumn;
+import com.yungnickyoung.minecraft.bettercaves.noise.NoiseCube;
+import com.yungnickyoung.minecraft.bettercaves.profiling.ChunkProfile;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStage;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
+import com.yungnickyoung.minecraft.bettercaves.profiling.JfrEvents;
+import com.yungnickyoung.minecraft.bettercaves.profiling.NoiseGenerationEvent;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseUtils;
 import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverNoiseRange;
@@ -21,11 +28,15 @@ import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraftforge.common.BiomeDictionary;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 
+/**
+ * Carves caverns in a chunk. Holds no per-chunk state, so a single instance may carve several chunks concurrently.
+ */
 public class CavernCarverController {
-    private World world;
+    private int dimensionID;
     private FastNoise cavernRegionController;
     private List<CarverNoiseRange> noiseRanges = new ArrayList<>();
 
@@ -39,7 +50,7 @@ public class CavernCarverController {
     private static Predicate<Biome> isNotOcean = b -> !isOcean.test(b);
 
     public CavernCarverController(World worldIn, ConfigHolder config) {
-        this.world = worldIn;
+        this.dimensionID = worldIn.provider.getDimension();
         this.isDebugViewEnabled = config.debugVisualizer.get();
         this.isOverrideSurfaceDetectionEnabled = config.overrideSurfaceDetection.get();
         this.isFloodedUndergroundEnabled = config.enableFloodedUnderground.get();
@@ -95,15 +106,25 @@ public class CavernCarverController {
         }
     }
 
-    public void carveChunk(ChunkPrimer primer, int chunkX, int chunkZ, int[][] surfaceAltitudes, IBlockState[][] liquidBlocks) {
+    /**
+     * @param profile Profile to record this chunk's stage times and work to, or null if profiling is disabled
+     */
+    public void carveChunk(ChunkPrimer primer, int chunkX, int chunkZ, int[][] surfaceAltitudes, IBlockState[][] liquidBlocks, IBiomeView biomeView, ChunkProfile profile) {
         // Prevent unnecessary computation if caverns are disabled
         if (noiseRanges.size() == 0) {
             return;
         }
 
+        // Per-column stages are summed locally and added to the profile once at the end
+        long regionNanos = 0, noiseNanos = 0, carveNanos = 0;
+        long time;
+
         boolean flooded = false;
         float smoothAmpFactor = 1;
 
+        // Noise cubes for the current subchunk, indexed the same as noiseRanges. Computed lazily.
+        NoiseCube[] noiseCubes = new NoiseCube[noiseRanges.size()];
+
         for (int subX = 0; subX < 16 / BCSettings.SUB_CHUNK_SIZE; subX++) {
             for (int subZ = 0; subZ < 16 / BCSettings.SUB_CHUNK_SIZE; subZ++) {
                 int startX = subX * BCSettings.SUB_CHUNK_SIZE;
@@ -113,7 +134,7 @@ public class CavernCarverController {
                 BlockPos startPos = new BlockPos(chunkX * 16 + startX, 1, chunkZ * 16 + startZ);
                 BlockPos endPos = new BlockPos(chunkX * 16 + endX, 1, chunkZ * 16 + endZ);
 
-                noiseRanges.forEach(range -> range.setNoiseCube(null));
+                Arrays.fill(noiseCubes, null);
 
                 // Get max height in subchunk. This is needed for calculating the noise cube
                 int maxHeight = 0;
@@ -136,21 +157,29 @@ public class CavernCarverController {
                         BlockPos colPos = new BlockPos(chunkX * 16 + localX, 1, chunkZ * 16 + localZ);
 
                         if (isFloodedUndergroundEnabled && !isDebugViewEnabled) {
-                            flooded = BiomeDictionary.hasType(world.getBiome(colPos), BiomeDictionary.Type.OCEAN);
-                            smoothAmpFactor = BetterCavesUtils.biomeDistanceFactor(world, colPos, 2, flooded ? isNotOcean : isOcean);
+                            flooded = BiomeDictionary.hasType(biomeView.getBiome(colPos), BiomeDictionary.Type.OCEAN);
+                            smoothAmpFactor = BetterCavesUtils.biomeDistanceFactor(biomeView, colPos, 2, flooded ? isNotOcean : isOcean);
                             if (smoothAmpFactor <= 0) { // Wall between flooded and normal caves.
                                 continue; // Continue to prevent unnecessary noise calculation
                             }
+                            if (flooded && profile != null) profile.addFlags(ChunkProfile.FLAG_FLOODED);
                         }
 
                         int surfaceAltitude = surfaceAltitudes[localX][localZ];
                         IBlockState liquidBlock = liquidBlocks[localX][localZ];
 
                         // Get noise values used to determine cavern region
+                        time = profile == null ? 0 : System.nanoTime();
                         float cavernRegionNoise = cavernRegionController.GetNoise(colPos.getX(), colPos.getZ());
+                        GenerationStats.increment(GenerationCounter.NOISE_SAMPLES);
+                        if (profile != null) {
+                            regionNanos += System.nanoTime() - time;
+                            profile.addNoiseSamples(1);
+                        }
 
                         // Carve cavern using matching carver
-                        for (CarverNoiseRange range : noiseRanges) {
+                        for (int i = 0; i < noiseRanges.size(); i++) {
+                            CarverNoiseRange range = noiseRanges.get(i);
                             if (!range.contains(cavernRegionNoise)) {
                                 continue;
                             }
@@ -162,17 +191,44 @@ public class CavernCarverController {
                                 maxHeight = carver.getTopY();
                             }
                             float smoothAmp = range.getSmoothAmp(cavernRegionNoise) * smoothAmpFactor;
-                            if (range.getNoiseCube() == null) {
-                                range.setNoiseCube(carver.getNoiseGen().interpolateNoiseCube(startPos, endPos, bottomY, maxHeight));
+                            if (noiseCubes[i] == null) {
+                                time = profile == null ? 0 : System.nanoTime();
+                                NoiseGenerationEvent noiseEvent = JfrEvents.beginNoiseGeneration();
+                                noiseCubes[i] = carver.getNoiseGen().interpolateNoiseCube(startPos, endPos, bottomY, maxHeight);
+                                JfrEvents.endNoiseGeneration(noiseEvent, dimensionID, chunkX, chunkZ, String.valueOf(carver.getCavernType()));
+                                if (profile != null) {
+                                    noiseNanos += System.nanoTime() - time;
+                                    profile.addNoiseCube();
+                                    profile.addNoiseSamples(carver.getNoiseGen().getNoiseCubeSampleCount(bottomY, maxHeight));
+                                }
+                            }
+                            NoiseColumn noiseColumn = noiseCubes[i].get(offsetX).get(offsetZ);
+                            time = profile == null ? 0 : System.nanoTime();
+                            carver.carveColumn(primer, biomeView, colPos, topY, smoothAmp, noiseColumn, liquidBlock, flooded);
+                            if (profile != null) {
+                                carveNanos += System.nanoTime() - time;
+                                profile.addColumnCarved();
+                                profile.addFlags(carver.getCavernType() == CavernType.FLOORED ? ChunkProfile.FLAG_FLOORED_CAVERNS : ChunkProfile.FLAG_LIQUID_CAVERNS);
                             }
-                            NoiseColumn noiseColumn = range.getNoiseCube().get(offsetX).get(offsetZ);
-                            carver.carveColumn(primer, colPos, topY, smoothAmp, noiseColumn, liquidBlock, flooded);
                             break;
                         }
                     }
                 }
             }
         }
+
+        if (profile != null) {
+            profile.add(GenerationStage.CAVERN_REGION, regionNanos);
+            profile.add(GenerationStage.CAVERN_NOISE, noiseNanos);
+            profile.add(GenerationStage.CAVERN_CARVE, carveNanos);
+        }
+    }
+
+    /**
+     * @return Noise function used to determine which type of cavern each column belongs to
+     */
+    public FastNoise getRegionController() {
+        return cavernRegionController;
     }
 
     /**
@@ -0,0 +1,124 @@
+package com.yungnickyoung.minecraft.bettercaves.world;
+
+import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
+import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
+import com.yungnickyoung.minecraft.bettercaves.profiling.ChunkCarveEvent;
+import com.yungnickyoung.minecraft.bettercaves.profiling.ChunkProfile;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStage;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationTimings;
+import com.yungnickyoung.minecraft.bettercaves.profiling.JfrEvents;
+import com.yungnickyoung.minecraft.bettercaves.profiling.SlowChunkWatchdog;
+import com.yungnickyoung.minecraft.bettercaves.profiling.heatmap.HeatmapRecorder;
+import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.bedrock.FlattenBedrock;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+/**
+ * Runs the full Better Caves carving pipeline for a single chunk: bedrock flattening, surface detection,
+ * liquid block lookup, and cave and cavern carving.
+ *
+ * All settings are fixed at construction time, and everything a chunk needs is passed in to {@link #carveChunk}.
+ * The only shared mutable state is a set of thread-safe caches, each a
+ * {@link com.yungnickyoung.minecraft.bettercaves.util.StripedLruCache}:
+ * <ul>
+ *     <li>the dimension's liquid block cache, shared by every controller of the dimension</li>
+ *     <li>the tunnel trace cache of each vanilla and surface cave carver</li>
+ *     <li>the cave start table cache of each vanilla and surface cave carver</li>
+ * </ul>
+ * Ravines are carved separately, by MapGenBetterRavine, whose ravine carver keeps a ravine trace cache of the same kind.
+ *
+ * Each cache only holds a stripe's lock for a single map operation, and no value is ever computed while a lock is held.
+ * Two threads that miss on the same key may both compute the value. Values are the same either way, so this never
+ * changes the output. There is no other synchronization and no thread-local storage. A single instance may therefore
+ * carve any number of chunks concurrently, from platform threads, virtual threads or a reactive executor. Aside from
+ * cache entries, which are shared with later chunks, each call only allocates memory for the chunk it is carving.
+ */
+public class ChunkCarverController {
+    private int dimensionID;
+    private ConfigHolder config;
+    private WaterRegionController waterRegionController;
+    private CaveCarverController caveCarverController;
+    private CavernCarverController cavernCarverController;
+    private GenerationTimings timings;
+
+    public ChunkCarverController(World world, ConfigHolder config) {
+        this.dimensionID = world.provider.getDimension();
+        this.config = config;
+        this.timings = GenerationTimings.forDimension(dimensionID);
+        this.waterRegionController = WaterRegionController.getSharedController(world, config);
+        this.caveCarverController = new CaveCarverController(world, config);
+        this.cavernCarverController = new CavernCarverController(world, config);
+    }
+
+    /**
+     * Carves Better Caves into a single chunk.
+     * @param chunkX The chunk's x-coordinate (on the chunk grid, not the block grid)
+     * @param chunkZ The chunk's z-coordinate (on the chunk grid, not the block grid)
+     * @param primer The chunk's ChunkPrimer. Only this primer is modified.
+     * @param biomeView Biome view for the world the chunk is in
+     */
+    public void carveChunk(int chunkX, int chunkZ, ChunkPrimer primer, IBiomeView biomeView) {
+        ChunkCarveEvent carveEvent = JfrEvents.beginChunkCarve();
+
+        // Only profile this chunk if something will use the profile. A null profile disables all timers further down.
+        ChunkProfile profile = GenerationTimings.isEnabled() || HeatmapRecorder.isEnabled() || SlowChunkWatchdog.isEnabled()
+            ? new ChunkProfile() : null;
+        long time = profile == null ? 0 : profile.getStartNanos();
+
+        // Flatten bedrock, if enabled, and determine surface altitudes in this chunk.
+        // Both are done in a single pass over the chunk's columns, before any carver runs.
+        boolean flattenBedrock = config.flattenBedrock.get();
+        int bedrockWidth = config.bedrockWidth.get();
+        boolean overrideSurfaceDetection = config.overrideSurfaceDetection.get();
+        int[][] surfaceAltitudes = new int[16][16];
+        for (int subX = 0; subX < 16 / BCSettings.SUB_CHUNK_SIZE; subX++) {
+            for (int subZ = 0; subZ < 16 / BCSettings.SUB_CHUNK_SIZE; subZ++) {
+                int startX = subX * BCSettings.SUB_CHUNK_SIZE;
+                int startZ = subZ * BCSettings.SUB_CHUNK_SIZE;
+                for (int offsetX = 0; offsetX < BCSettings.SUB_CHUNK_SIZE; offsetX++) {
+                    for (int offsetZ = 0; offsetZ < BCSettings.SUB_CHUNK_SIZE; offsetZ++) {
+                        if (flattenBedrock)
+                            FlattenBedrock.flattenBedrockColumn(primer, startX + offsetX, startZ + offsetZ, bedrockWidth);
+
+                        int surfaceHeight;
+                        if (overrideSurfaceDetection) {
+                            surfaceHeight = 1; // Don't waste time calculating surface height if it's going to be overridden anyway
+                        }
+                        else {
+                            surfaceHeight = BetterCavesUtils.getSurfaceAltitudeForColumn(primer, startX + offsetX, startZ + offsetZ);
+                        }
+                        surfaceAltitudes[startX + offsetX][startZ + offsetZ] = surfaceHeight;
+                    }
+                }
+            }
+        }
+        if (profile != null) time = profile.record(GenerationStage.SURFACE, time);
+
+        // Determine liquid blocks for this chunk
+        IBlockState[][] liquidBlocks = waterRegionController.getLiquidBlocksForChunk(chunkX, chunkZ, new IBlockState[16][16]);
+        if (profile != null) profile.record(GenerationStage.LIQUID, time);
+
+        // Carve chunk
+        caveCarverController.carveChunk(primer, chunkX, chunkZ, surfaceAltitudes, liquidBlocks, biomeView, profile);
+        cavernCarverController.carveChunk(primer, chunkX, chunkZ, surfaceAltitudes, liquidBlocks, biomeView, profile);
+
+        if (profile != null) {
+            profile.finish();
+            if (GenerationTimings.isEnabled())
+                timings.add(profile);
+            if (HeatmapRecorder.isEnabled())
+                HeatmapRecorder.record(dimensionID, chunkX, chunkZ, profile);
+            SlowChunkWatchdog.check(dimensionID, chunkX, chunkZ, profile);
+        }
+        GenerationStats.increment(GenerationCounter.CHUNKS);
+        JfrEvents.endChunkCarve(carveEvent, dimensionID, chunkX, chunkZ);
+    }
+
+    public WaterRegionController getWaterRegionController() {
+        return waterRegionController;
+    }
+}
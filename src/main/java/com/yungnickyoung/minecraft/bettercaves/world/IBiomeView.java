@@ -0,0 +1,22 @@
+package com.yungnickyoung.minecraft.bettercaves.world;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.biome.Biome;
+
+/**
+ * Read-only view of the world information carvers need while carving a chunk.
+ * Carvers never write to this view, so any implementation that is safe to read concurrently
+ * lets chunks be carved from any thread.
+ */
+public interface IBiomeView {
+    /**
+     * @param pos Block position. The y-coordinate is ignored.
+     * @return The biome at the given position
+     */
+    Biome getBiome(BlockPos pos);
+
+    /**
+     * @return The y-coordinate of the sea level
+     */
+    int getSeaLevel();
+}
@@ -0,0 +1,103 @@
+package com.yungnickyoung.minecraft.bettercaves.world;
+
+import com.yungnickyoung.minecraft.bettercaves.util.StripedLruCache;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.ChunkPos;
+
+/**
+ * Size-bounded, thread-safe cache of per-chunk liquid block maps.
+ *
+ * Each chunk's map is stored as a 2-bit palette index per column (8 longs per chunk) instead of an
+ * {@code IBlockState[16][16]}, in a {@link StripedLruCache}.
+ * Maps are computed outside of the cache's locks; if two threads race on the same chunk, both compute the same
+ * result and the first one stored wins.
+ * Maps are decoded into an array supplied by the caller, so cache hits allocate nothing.
+ */
+public class LiquidBlockCache {
+    /** Number of longs needed to hold 2 bits for each of the 256 columns in a chunk */
+    private static final int LONGS_PER_CHUNK = 16 * 16 * 2 / 64;
+
+    private final StripedLruCache<Long, long[]> cache;
+
+    /** Block states indexed by their 2-bit code. Null entries are allowed. */
+    private final IBlockState[] palette;
+
+    /**
+     * @param capacity Maximum number of chunks held across all stripes
+     * @param numStripes Number of independently locked stripes. Must be a power of 2.
+     * @param palette Up to 4 block states (null allowed) that liquid maps may contain
+     */
+    public LiquidBlockCache(int capacity, int numStripes, IBlockState... palette) {
+        if (palette.length > 4)
+            throw new IllegalArgumentException("Liquid block palette can hold at most 4 block states");
+
+        this.palette = palette;
+        this.cache = new StripedLruCache<>(capacity, numStripes, StripedLruCache::hashChunkKey);
+    }
+
+    /**
+     * Fills in the liquid blocks for a chunk, computing and caching them if they are not already present.
+     * @param chunkX The chunk's x-coordinate
+     * @param chunkZ The chunk's z-coordinate
+     * @param blocks 16x16 array to fill in, indexed by chunk-local x and z coordinates
+     * @param computeFunction Computes the liquid blocks for a chunk, given its coordinates
+     * @return The filled in array
+     */
+    public IBlockState[][] get(int chunkX, int chunkZ, IBlockState[][] blocks, ILiquidBlockFunction computeFunction) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+
+        long[] codes = cache.get(key);
+        if (codes == null) {
+            computeFunction.compute(chunkX, chunkZ, blocks);
+            cache.putIfAbsent(key, encode(blocks));
+        } else {
+            decode(codes, blocks);
+        }
+        return blocks;
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private long[] encode(IBlockState[][] blocks) {
+        long[] codes = new long[LONGS_PER_CHUNK];
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int column = x << 4 | z;
+                long code = paletteIndexOf(blocks[x][z]);
+                codes[column >> 5] |= code << ((column & 31) << 1);
+            }
+        }
+        return codes;
+    }
+
+    private void decode(long[] codes, IBlockState[][] blocks) {
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int column = x << 4 | z;
+                int code = (int) (codes[column >> 5] >>> ((column & 31) << 1)) & 3;
+                blocks[x][z] = palette[code];
+            }
+        }
+    }
+
+    private int paletteIndexOf(IBlockState blockState) {
+        for (int i = 0; i < palette.length; i++)
+            if (palette[i] == blockState) return i;
+        throw new IllegalArgumentException("Block state not in liquid block palette: " + blockState);
+    }
+
+    /**
+     * Computes the liquid blocks for a chunk.
+     */
+    public interface ILiquidBlockFunction {
+        /**
+         * @param blocks 16x16 array to fill in, indexed by chunk-local x and z coordinates
+         */
+        void compute(int chunkX, int chunkZ, IBlockState[][] blocks);
+    }
+}
@@ -1,11 +1,8 @@
 package com.yungnickyoung.minecraft.bettercaves.world;
 
-import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
 import com.yungnickyoung.minecraft.bettercaves.config.io.ConfigLoader;
 import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
 import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
-import com.yungnickyoung.minecraft.bettercaves.world.bedrock.FlattenBedrock;
-import net.minecraft.block.state.IBlockState;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.gen.MapGenBase;
@@ -18,15 +15,17 @@ import javax.annotation.Nonnull;
  * Class that overrides vanilla cave gen with Better Caves gen.
  * Combines multiple types of caves and caverns using different types of noise to create a
  * novel underground experience.
+ *
+ * The actual carving is done by a {@link ChunkCarverController}; this class only adapts it to Forge's MapGenBase.
  */
 public class MapGenBetterCaves extends MapGenCaves {
     // Vanilla cave gen if user sets config to use it
     private MapGenBase defaultCaveGen;
 
-    // Region Controllers
+    // Controllers
     public WaterRegionController waterRegionController;
-    private CaveCarverController caveCarverController;
-    private CavernCarverController cavernCarverController;
+    private ChunkCarverController chunkCarverController;
+    private IBiomeView biomeView;
 
     // Config holder for options specific to this carver
     public ConfigHolder config;
@@ -56,37 +55,7 @@ public class MapGenBetterCaves extends MapGenCaves {
             this.initialize(worldIn);
         }
 
-        // Flatten bedrock, if enabled
-        if (config.flattenBedrock.get())
-            FlattenBedrock.flattenBedrock(primer, config.bedrockWidth.get());
-
-        // Determine surface altitudes in this chunk
-        int[][] surfaceAltitudes = new int[16][16];
-        for (int subX = 0; subX < 16 / BCSettings.SUB_CHUNK_SIZE; subX++) {
-            for (int subZ = 0; subZ < 16 / BCSettings.SUB_CHUNK_SIZE; subZ++) {
-                int startX = subX * BCSettings.SUB_CHUNK_SIZE;
-                int startZ = subZ * BCSettings.SUB_CHUNK_SIZE;
-                for (int offsetX = 0; offsetX < BCSettings.SUB_CHUNK_SIZE; offsetX++) {
-                    for (int offsetZ = 0; offsetZ < BCSettings.SUB_CHUNK_SIZE; offsetZ++) {
-                        int surfaceHeight;
-                        if (config.overrideSurfaceDetection.get()) {
-                            surfaceHeight = 1; // Don't waste time calculating surface height if it's going to be overridden anyway
-                        }
-                        else {
-                            surfaceHeight = BetterCavesUtils.getSurfaceAltitudeForColumn(primer, startX + offsetX, startZ + offsetZ);
-                        }
-                        surfaceAltitudes[startX + offsetX][startZ + offsetZ] = surfaceHeight;
-                    }
-                }
-            }
-        }
-
-        // Determine liquid blocks for this chunk
-        IBlockState[][] liquidBlocks = waterRegionController.getLiquidBlocksForChunk(chunkX, chunkZ);
-
-        // Carve chunk
-        caveCarverController.carveChunk(primer, chunkX, chunkZ, surfaceAltitudes, liquidBlocks);
-        cavernCarverController.carveChunk(primer, chunkX, chunkZ, surfaceAltitudes, liquidBlocks);
+        chunkCarverController.carveChunk(chunkX, chunkZ, primer, biomeView);
     }
 
     /**
@@ -96,13 +65,13 @@ public class MapGenBetterCaves extends MapGenCaves {
     private void initialize(World worldIn) {
         // Extract world information
         this.world = worldIn;
+        this.biomeView = new WorldBiomeView(worldIn);
 
         // Load config for this dimension
         this.config = ConfigLoader.loadConfigFromFileForDimension(world.provider.getDimension());
 
         // Initialize controllers
-        this.waterRegionController = new WaterRegionController(world, config);
-        this.caveCarverController = new CaveCarverController(world, config);
-        this.cavernCarverController = new CavernCarverController(worldIn, config);
+        this.chunkCarverController = new ChunkCarverController(world, config);
+        this.waterRegionController = chunkCarverController.getWaterRegionController();
     }
 }
@@ -1,25 +1,31 @@
 package com.yungnickyoung.minecraft.bettercaves.world;
 
 import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
+import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
 import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
 import com.yungnickyoung.minecraft.bettercaves.enums.RegionSize;
 import com.yungnickyoung.minecraft.bettercaves.noise.FastNoise;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseUtils;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
 import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class WaterRegionController {
+    // Controllers shared by all Better Caves generators in a dimension, so they can share one liquid block cache
+    private static final Map<Integer, WaterRegionController> sharedControllers = new ConcurrentHashMap<>();
+
     private FastNoise waterRegionController;
     private long worldSeed;
     private int dimensionID;
     private String dimensionName;
-    private Random rand;
+    private LiquidBlockCache liquidBlockCache;
 
     // Vars determined from config
     private IBlockState lavaBlock;
@@ -34,7 +40,6 @@ public class WaterRegionController {
         this.worldSeed = world.getSeed();
         this.dimensionID = world.provider.getDimension();
         this.dimensionName = world.provider.getDimensionType().toString();
-        this.rand = new Random();
 
         // Vars from config
         this.lavaBlock = getLavaBlockFromString(config.lavaBlock.get());
@@ -46,29 +51,66 @@ public class WaterRegionController {
         this.waterRegionController = new FastNoise();
         this.waterRegionController.SetSeed((int)world.getSeed() + 444);
         this.waterRegionController.SetFrequency(waterRegionSize);
+
+        // A null liquid block marks the buffer zone between lava and water regions
+        this.liquidBlockCache = new LiquidBlockCache(BCSettings.LIQUID_CACHE_SIZE, BCSettings.LIQUID_CACHE_STRIPES, lavaBlock, waterBlock, null);
+    }
+
+    /**
+     * Returns the WaterRegionController shared by all generators in the world's dimension, creating it if needed.
+     * A new controller is created if the dimension's existing controller belongs to a world with a different seed.
+     * @param world The Minecraft world
+     * @param config Config for the world's dimension. Only used if a new controller is created.
+     */
+    public static WaterRegionController getSharedController(World world, ConfigHolder config) {
+        return sharedControllers.compute(world.provider.getDimension(), (dimensionID, controller) ->
+            controller != null && controller.worldSeed == world.getSeed()
+                ? controller
+                : new WaterRegionController(world, config)
+        );
+    }
+
+    /**
+     * Discards the shared controller for a dimension, along with its cached liquid blocks.
+     * Should be called when the dimension's world is unloaded.
+     */
+    public static void removeSharedController(int dimensionID) {
+        sharedControllers.remove(dimensionID);
     }
 
-    public IBlockState[][] getLiquidBlocksForChunk(int chunkX, int chunkZ) {
-        rand.setSeed(worldSeed ^ chunkX ^ chunkZ);
-        IBlockState[][] blocks = new IBlockState[16][16];
+    /**
+     * Fills in the liquid blocks for a chunk. Results are cached, so this is safe and cheap to call
+     * from multiple generators for the same chunk.
+     * @param chunkX The chunk's x-coordinate
+     * @param chunkZ The chunk's z-coordinate
+     * @param liquidBlocks 16x16 array to fill in. Callers may reuse the same array for every chunk.
+     * @return Liquid blocks, indexed by chunk-local x and z coordinates. A null block means no liquid.
+     */
+    public IBlockState[][] getLiquidBlocksForChunk(int chunkX, int chunkZ, IBlockState[][] liquidBlocks) {
+        return liquidBlockCache.get(chunkX, chunkZ, liquidBlocks, this::computeLiquidBlocksForChunk);
+    }
+
+    private void computeLiquidBlocksForChunk(int chunkX, int chunkZ, IBlockState[][] blocks) {
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                int realX = chunkX * 16 + x;
-                int realZ = chunkZ * 16 + z;
-                BlockPos pos = new BlockPos(realX, 1, realZ);
-                blocks[x][z] = getLiquidBlockAtPos(rand, pos);
+                blocks[x][z] = getLiquidBlockAtPos(chunkX * 16 + x, chunkZ * 16 + z);
             }
         }
-        return blocks;
     }
 
-    private IBlockState getLiquidBlockAtPos(Random rand, BlockPos blockPos) {
+    /**
+     * Determines the liquid block for a single column.
+     * The smoothing jitter is a pure function of the world seed and column position, so the result does not depend
+     * on which thread computes it or on what was computed before it.
+     */
+    private IBlockState getLiquidBlockAtPos(int realX, int realZ) {
         IBlockState liquidBlock = lavaBlock;
         if (waterRegionThreshold > -1f) { // Don't bother calculating noise if water regions are disabled
-            float waterRegionNoise = waterRegionController.GetNoise(blockPos.getX(), blockPos.getZ());
+            float waterRegionNoise = waterRegionController.GetNoise(realX, realZ);
+            GenerationStats.increment(GenerationCounter.NOISE_SAMPLES);
 
             // If water region threshold check is passed, change liquid block to water
-            float randOffset = rand.nextFloat() * SMOOTH_DELTA + SMOOTH_RANGE;
+            float randOffset = NoiseUtils.hashToFloat(worldSeed, realX, realZ) * SMOOTH_DELTA + SMOOTH_RANGE;
             if (waterRegionNoise < waterRegionThreshold - randOffset)
                 liquidBlock = waterBlock;
             else if (waterRegionNoise < waterRegionThreshold + randOffset)
@@ -115,6 +157,13 @@ public class WaterRegionController {
         return waterBlock;
     }
 
+    /**
+     * @return Noise function used to determine whether each column is in a water or lava region
+     */
+    public FastNoise getRegionController() {
+        return waterRegionController;
+    }
+
     /**
      * @return frequency value for water region controller
      */
@@ -0,0 +1,29 @@
+package com.yungnickyoung.minecraft.bettercaves.world;
+
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+
+/**
+ * Biome view backed by a Minecraft world.
+ */
+public class WorldBiomeView implements IBiomeView {
+    private final World world;
+
+    public WorldBiomeView(World world) {
+        this.world = world;
+    }
+
+    @Override
+    public Biome getBiome(BlockPos pos) {
+        GenerationStats.increment(GenerationCounter.BIOME_LOOKUPS);
+        return world.getBiome(pos);
+    }
+
+    @Override
+    public int getSeaLevel() {
+        return world.getSeaLevel();
+    }
+}
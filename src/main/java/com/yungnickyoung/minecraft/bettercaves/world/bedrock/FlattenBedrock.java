@@ -5,30 +5,33 @@ import net.minecraft.init.Blocks;
 import net.minecraft.world.chunk.ChunkPrimer;
 
 /**
- * Class containing static method for flattening bedrock.
+ * Class containing static methods for flattening bedrock.
+ * Bedrock is flattened one column at a time, in the same pass over the chunk as the carvers.
  */
 public class FlattenBedrock {
     private static final IBlockState BEDROCK = Blocks.BEDROCK.getDefaultState();
+    private static final IBlockState STONE = Blocks.STONE.getDefaultState();
+
+    /** Vanilla bedrock is generated up to, but not including, this altitude */
+    private static final int VANILLA_BEDROCK_TOP = 5;
 
     /**
-     * Flattens bedrock in a given chunk
+     * Flattens bedrock in a single column.
+     * Blocks within the bedrock layer are set without being read, and vanilla bedrock above it is replaced
+     * with stone.
      * @param primer The chunk's ChunkPrimer
+     * @param localX The column's chunk-local x-coordinate
+     * @param localZ The column's chunk-local z-coordinate
      * @param bedrockLayerWidth Width of the bedrock layer, in blocks
      */
-    public static void flattenBedrock(ChunkPrimer primer, int bedrockLayerWidth) {
-        IBlockState replacementBlock = Blocks.STONE.getDefaultState();
-
-        // Replace normal bedrock at bottom of map with stone
-        for (int x = 0; x < 16; x++)
-            for (int z = 0; z < 16; z++)
-                for (int y = 1; y < 5; y++)
-                    if (primer.getBlockState(x, y, z) == BEDROCK)
-                        primer.setBlockState(x, y, z, replacementBlock);
-
+    public static void flattenBedrockColumn(ChunkPrimer primer, int localX, int localZ, int bedrockLayerWidth) {
         // Create bedrock layer(s) at bottom of map
-        for (int x = 0; x < 16; x++)
-            for (int z = 0; z < 16; z++)
-                for (int y = 1; y < bedrockLayerWidth; y++)
-                    primer.setBlockState(x, y, z, BEDROCK);
+        for (int y = 1; y < bedrockLayerWidth; y++)
+            primer.setBlockState(localX, y, localZ, BEDROCK);
+
+        // Replace normal bedrock above the layer(s) with stone
+        for (int y = Math.max(bedrockLayerWidth, 1); y < VANILLA_BEDROCK_TOP; y++)
+            if (primer.getBlockState(localX, y, localZ) == BEDROCK)
+                primer.setBlockState(localX, y, localZ, STONE);
     }
 }
@@ -1,12 +1,10 @@
 package com.yungnickyoung.minecraft.bettercaves.world.carver;
 
-import com.yungnickyoung.minecraft.bettercaves.noise.NoiseCube;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseUtils;
 
 /**
- * Couples the bounds of a particular range of noise values with a NoiseCube and carver.
- * Having these pieces of information in one place is kind of bad practice, but proves to be very
- * convenient in the Carver Controllers.
+ * Couples the bounds of a particular range of noise values with a carver.
+ * Instances are immutable once created, so they may be shared between threads carving different chunks.
  *
  * The smooth cutoff variables are currently only used by the CavernCarverController, since
  * caves currently do not have boundary smoothing.
@@ -22,9 +20,6 @@ public class CarverNoiseRange {
     // The carver associated with this range of noises.
     private ICarver carver;
 
-    // The NoiseCube associated with this range of noises.
-    private NoiseCube noiseCube;
-
     // The degree of smoothing on cavern edges. For a given SMOOTH_PERCENT x, both the
     // bottom and top ends of the noise range are each smoothed by (x * 100) percent.
     private static final float SMOOTH_PERCENT = .3f;
@@ -36,7 +31,6 @@ public class CarverNoiseRange {
         this.smoothBottomCutoff = NoiseUtils.simplexNoiseOffsetByPercent(bottom, smoothRangePercent);
         this.smoothTopCutoff = NoiseUtils.simplexNoiseNegativeOffsetByPercent(top, smoothRangePercent);
         this.carver = carver;
-        this.noiseCube = null;
     }
 
     public boolean contains(float noiseValue) {
@@ -61,14 +55,6 @@ public class CarverNoiseRange {
         return carver;
     }
 
-    public NoiseCube getNoiseCube() {
-        return noiseCube;
-    }
-
-    public void setNoiseCube(NoiseCube noiseCube) {
-        this.noiseCube = noiseCube;
-    }
-
     @Override
     public String toString() {
         return String.format("[%2.2f, %2.2f] (%2.4f%%) -- smooth cutoffs: [%2.2f, %2.2f]", bottom, top, getPercentLength(), smoothBottomCutoff, smoothTopCutoff);
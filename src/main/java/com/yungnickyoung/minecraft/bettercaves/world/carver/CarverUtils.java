@@ -1,7 +1,10 @@
 package com.yungnickyoung.minecraft.bettercaves.world.carver;
 
 import com.google.common.collect.ImmutableSet;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
 import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockSand;
 import net.minecraft.block.BlockStone;
@@ -9,7 +12,6 @@ import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.ChunkPrimer;
 
@@ -36,21 +38,36 @@ public class CarverUtils {
      * If setting to air, it also checks to see if we've broken the surface, and if so,
      * tries to make the floor the biome's top block.
      *
-     * @param world the Minecraft world this block is in
+     * @param biomeView biome view for the world this block is in
      * @param primer the ChunkPrimer containing the block
      * @param blockPos The block's position
      * @param airBlockState the BlockState to use for air.
      * @param liquidBlockState the BlockState to use for liquids. May be null if in buffer zone between liquid regions
      * @param liquidAltitude altitude at and below which air is replaced with liquidBlockState
      */
-    public static void digBlock(World world, ChunkPrimer primer, BlockPos blockPos, IBlockState airBlockState, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
+    public static void digBlock(IBiomeView biomeView, ChunkPrimer primer, BlockPos blockPos, IBlockState airBlockState, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
         int localX = BetterCavesUtils.getLocal(blockPos.getX());
         int localZ = BetterCavesUtils.getLocal(blockPos.getZ());
-        int y = blockPos.getY();
+        digBlock(primer, biomeView.getBiome(blockPos), localX, blockPos.getY(), localZ, airBlockState, liquidBlockState, liquidAltitude, replaceGravel);
+    }
 
+    /**
+     * Same as {@link #digBlock(IBiomeView, ChunkPrimer, BlockPos, IBlockState, IBlockState, int, boolean)}, for
+     * carvers that already know the biome of the block's column. Nothing is allocated, so this may be called once
+     * per carved block.
+     *
+     * @param primer the ChunkPrimer containing the block
+     * @param biome The biome of the block's column
+     * @param localX The block's chunk-local x-coordinate
+     * @param y The block's y-coordinate
+     * @param localZ The block's chunk-local z-coordinate
+     * @param airBlockState the BlockState to use for air.
+     * @param liquidBlockState the BlockState to use for liquids. May be null if in buffer zone between liquid regions
+     * @param liquidAltitude altitude at and below which air is replaced with liquidBlockState
+     */
+    public static void digBlock(ChunkPrimer primer, Biome biome, int localX, int y, int localZ, IBlockState airBlockState, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
         IBlockState blockState = primer.getBlockState(localX, y, localZ);
         IBlockState blockStateAbove = primer.getBlockState(localX, y + 1, localZ);
-        Biome biome = world.getBiome(blockPos);
         Block biomeTopBlock = biome.topBlock.getBlock();
         Block biomeFillerBlock = biome.fillerBlock.getBlock();
 
@@ -59,14 +76,15 @@ public class CarverUtils {
             if (airBlockState == AIR && y <= liquidAltitude) { // Replace any block below the liquid altitude with the liquid block passed in
                 if (liquidBlockState != null) {
                     primer.setBlockState(localX, y, localZ, liquidBlockState);
+                    GenerationStats.increment(GenerationCounter.BLOCKS_DUG);
                 }
             }
             else {
                 // Check for adjacent water blocks to avoid breaking into lakes or oceans
-                if (airBlockState == AIR && isWaterAdjacent(primer, blockPos)) return;
+                if (airBlockState == AIR && isWaterAdjacent(primer, localX, y, localZ)) return;
 
                 // Adjust block below if block removed is biome top block
-                if (isTopBlock(world, primer, blockPos) && canReplaceBlock(primer.getBlockState(localX, y - 1, localZ), AIR))
+                if (blockState == biome.topBlock && canReplaceBlock(primer.getBlockState(localX, y - 1, localZ), AIR))
                     primer.setBlockState(localX, y - 1, localZ, biome.topBlock);
 
                 // Replace floating sand with sandstone
@@ -81,20 +99,21 @@ public class CarverUtils {
 
                 // Replace this block with air, effectively "digging" it out
                 primer.setBlockState(localX, y, localZ, airBlockState);
+                GenerationStats.increment(GenerationCounter.BLOCKS_DUG);
             }
         }
     }
 
-    public static void digBlock(World world, ChunkPrimer primer, BlockPos blockPos, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
-        digBlock(world, primer, blockPos, Blocks.AIR.getDefaultState(), liquidBlockState, liquidAltitude, replaceGravel);
+    public static void digBlock(IBiomeView biomeView, ChunkPrimer primer, BlockPos blockPos, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
+        digBlock(biomeView, primer, blockPos, Blocks.AIR.getDefaultState(), liquidBlockState, liquidAltitude, replaceGravel);
     }
 
-    public static void digBlock(World world, ChunkPrimer primer, int x, int y, int z, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
-        digBlock(world, primer, new BlockPos(x, y, z), liquidBlockState, liquidAltitude, replaceGravel);
+    public static void digBlock(IBiomeView biomeView, ChunkPrimer primer, int x, int y, int z, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
+        digBlock(biomeView, primer, new BlockPos(x, y, z), liquidBlockState, liquidAltitude, replaceGravel);
     }
 
-    public static void digBlock(World world, ChunkPrimer primer, int x, int y, int z, IBlockState airBlockState, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
-        digBlock(world, primer, new BlockPos(x, y, z), airBlockState, liquidBlockState, liquidAltitude, replaceGravel);
+    public static void digBlock(IBiomeView biomeView, ChunkPrimer primer, int x, int y, int z, IBlockState airBlockState, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
+        digBlock(biomeView, primer, new BlockPos(x, y, z), airBlockState, liquidBlockState, liquidAltitude, replaceGravel);
     }
 
     /**
@@ -124,16 +143,16 @@ public class CarverUtils {
     /**
      * Determine if the block at the specified location is the designated top block for the biome.
      *
-     * @param world the Minecraft world this block is in
+     * @param biomeView biome view for the world this block is in
      * @param primer the ChunkPrimer containing the block
      * @param blockPos The block's position
      * @return true if this block is the same type as the biome's designated top block
      */
-    public static boolean isTopBlock(World world, ChunkPrimer primer, BlockPos blockPos) {
+    public static boolean isTopBlock(IBiomeView biomeView, ChunkPrimer primer, BlockPos blockPos) {
         int localX = BetterCavesUtils.getLocal(blockPos.getX());
         int localZ = BetterCavesUtils.getLocal(blockPos.getZ());
         int y = blockPos.getY();
-        Biome biome = world.getBiome(blockPos);
+        Biome biome = biomeView.getBiome(blockPos);
         IBlockState blockState = primer.getBlockState(localX, y, localZ);
         return blockState == biome.topBlock;
     }
@@ -186,11 +205,7 @@ public class CarverUtils {
                 && blockStateAbove.getMaterial() != Material.WATER;
     }
 
-    private static boolean isWaterAdjacent(ChunkPrimer primer, BlockPos blockPos) {
-        int localX = BetterCavesUtils.getLocal(blockPos.getX());
-        int localZ = BetterCavesUtils.getLocal(blockPos.getZ());
-        int y = blockPos.getY();
-
+    private static boolean isWaterAdjacent(ChunkPrimer primer, int localX, int y, int localZ) {
         return primer.getBlockState(localX, y + 1, localZ).getMaterial() == Material.WATER
                 || localX < 15 && primer.getBlockState(localX + 1, y, localZ).getMaterial() == Material.WATER
                 || localX > 0 && primer.getBlockState(localX - 1, y, localZ).getMaterial() == Material.WATER
@@ -0,0 +1,84 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver;
+
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.common.BiomeDictionary;
+
+/**
+ * Biome information for the columns of the chunk being carved, looked up the first time a column is dug.
+ * Every segment that carves into a column reuses it, instead of looking up the biomes of the column and its
+ * neighbors for each block.
+ *
+ * Used by the vanilla cave and ravine carvers to decide which columns are flooded below sea level.
+ * Instances belong to a single chunk being carved and are not thread-safe.
+ */
+public class ChunkColumns {
+    private static final byte LOADED = 1, OCEAN = 2, FLOOD_BOUNDARY = 4;
+
+    private final IBiomeView biomeView;
+    private final int blockX, blockZ;
+    private final boolean checkOcean;
+    private final Biome[] biomes = new Biome[256];
+    private final byte[] flags = new byte[256];
+    private int seaLevel = Integer.MIN_VALUE;
+
+    /**
+     * @param checkOcean Whether columns should be checked for ocean biomes. If false, no column is ocean.
+     */
+    public ChunkColumns(IBiomeView biomeView, int chunkX, int chunkZ, boolean checkOcean) {
+        this.biomeView = biomeView;
+        this.checkOcean = checkOcean;
+        this.blockX = chunkX * 16;
+        this.blockZ = chunkZ * 16;
+    }
+
+    public Biome getBiome(int localX, int localZ) {
+        return biomes[load(localX, localZ)];
+    }
+
+    public boolean isOcean(int localX, int localZ) {
+        return (flags[load(localX, localZ)] & OCEAN) != 0;
+    }
+
+    /**
+     * Flooded columns on the boundary are left undug below sea level, as a wall between flooded and unflooded openings.
+     * This is the same test as a {@link com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils#biomeDistanceFactor}
+     * of at most .25 with a radius of 2, which only the four direct neighbors can give.
+     *
+     * @return true if an ocean column is next to a column that isn't ocean
+     */
+    public boolean isFloodBoundary(int localX, int localZ) {
+        return (flags[load(localX, localZ)] & FLOOD_BOUNDARY) != 0;
+    }
+
+    public int getSeaLevel() {
+        if (seaLevel == Integer.MIN_VALUE)
+            seaLevel = biomeView.getSeaLevel();
+        return seaLevel;
+    }
+
+    private int load(int localX, int localZ) {
+        int column = localX << 4 | localZ;
+        if (flags[column] != 0)
+            return column;
+
+        BlockPos pos = new BlockPos(blockX + localX, 0, blockZ + localZ);
+        byte columnFlags = LOADED;
+        biomes[column] = biomeView.getBiome(pos);
+        if (checkOcean && isOcean(biomes[column])) {
+            columnFlags |= OCEAN;
+            if (!isOcean(biomeView.getBiome(pos.east()))
+                || !isOcean(biomeView.getBiome(pos.north()))
+                || !isOcean(biomeView.getBiome(pos.west()))
+                || !isOcean(biomeView.getBiome(pos.south())))
+                columnFlags |= FLOOD_BOUNDARY;
+        }
+        flags[column] = columnFlags;
+        return column;
+    }
+
+    private static boolean isOcean(Biome biome) {
+        return BiomeDictionary.hasType(biome, BiomeDictionary.Type.OCEAN);
+    }
+}
@@ -1,17 +1,20 @@
 package com.yungnickyoung.minecraft.bettercaves.world.carver.cave;
 
 import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
+import com.yungnickyoung.minecraft.bettercaves.enums.CaveType;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseColumn;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseGen;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseTuple;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
 import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverSettings;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverUtils;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.ICarver;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 import net.minecraft.world.chunk.ChunkPrimer;
 
 import java.util.HashMap;
@@ -24,7 +27,7 @@ import java.util.Map;
 public class CaveCarver implements ICarver {
     private CarverSettings settings;
     private NoiseGen noiseGen;
-    private World world;
+    private CaveType caveType;
 
     /** Surface cutoff depth */
     private int surfaceCutoff;
@@ -57,7 +60,7 @@ public class CaveCarver implements ICarver {
                 settings.getyCompression(),
                 settings.getXzCompression()
         );
-        world = builder.getSettings().getWorld();
+        caveType = builder.getCaveType();
         surfaceCutoff = builder.getSurfaceCutoff();
         bottomY = builder.getBottomY();
         topY = builder.getTopY();
@@ -72,7 +75,7 @@ public class CaveCarver implements ICarver {
         }
     }
 
-    public void carveColumn(ChunkPrimer primer, BlockPos colPos, int topY, NoiseColumn noises, IBlockState liquidBlock, boolean flooded) {
+    public void carveColumn(ChunkPrimer primer, IBiomeView biomeView, BlockPos colPos, int topY, NoiseColumn noises, IBlockState liquidBlock, boolean flooded) {
         int localX = BetterCavesUtils.getLocal(colPos.getX());
         int localZ = BetterCavesUtils.getLocal(colPos.getZ());
 
@@ -88,6 +91,8 @@ public class CaveCarver implements ICarver {
         if (topY < 0 || topY > 255)
             return;
 
+        GenerationStats.increment(GenerationCounter.COLUMNS_CARVED);
+
         // Altitude at which caves start closing off so they aren't all open to the surface
         int transitionBoundary = topY - surfaceCutoff;
 
@@ -119,7 +124,7 @@ public class CaveCarver implements ICarver {
                 }
             }
 
-            airBlockState = flooded && y < world.getSeaLevel() ? Blocks.WATER.getDefaultState() : Blocks.AIR.getDefaultState();
+            airBlockState = flooded && y < biomeView.getSeaLevel() ? Blocks.WATER.getDefaultState() : Blocks.AIR.getDefaultState();
             BlockPos blockPos = new BlockPos(localX, y, localZ);
 
             // Dig out the block if it passed the threshold check, using the debug visualizer if enabled
@@ -127,7 +132,7 @@ public class CaveCarver implements ICarver {
                 CarverUtils.debugDigBlock(primer, blockPos, settings.getDebugBlock(), digBlock);
             }
             else if (digBlock) {
-                CarverUtils.digBlock(settings.getWorld(), primer, blockPos, airBlockState, liquidBlock, settings.getLiquidAltitude(), settings.isReplaceFloatingGravel());
+                CarverUtils.digBlock(biomeView, primer, blockPos, airBlockState, liquidBlock, settings.getLiquidAltitude(), settings.isReplaceFloatingGravel());
             }
         }
     }
@@ -209,6 +214,10 @@ public class CaveCarver implements ICarver {
         return settings;
     }
 
+    public CaveType getCaveType() {
+        return caveType;
+    }
+
     public int getPriority() {
         return settings.getPriority();
     }
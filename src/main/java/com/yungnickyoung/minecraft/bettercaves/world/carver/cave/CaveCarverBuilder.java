@@ -13,6 +13,7 @@ import net.minecraft.world.World;
  */
 public class CaveCarverBuilder {
     private CarverSettings settings;
+    private CaveType caveType;
     private int surfaceCutoff;
     private int bottomY;
     private int topY;
@@ -38,6 +39,7 @@ public class CaveCarverBuilder {
         this.settings.setReplaceFloatingGravel(config.replaceFloatingGravel.get());
         this.settings.setEnableDebugVisualizer(config.debugVisualizer.get());
         this.settings.getNoiseSettings().setFractalType(FastNoise.FractalType.RigidMulti);
+        this.caveType = caveType;
         switch (caveType) {
             case CUBIC:
                 this.settings.setFastNoise(true);
@@ -80,6 +82,22 @@ public class CaveCarverBuilder {
     }
 
     /* ================================== Builder Setters ================================== */
+    /**
+     * @param caveType The type of this cave. Only used to identify the carver, e.g. in profiling.
+     */
+    public CaveCarverBuilder caveType(CaveType caveType) {
+        this.caveType = caveType;
+        return this;
+    }
+
+    /**
+     * @param fastNoise true to use the FastNoise library, false to use OpenSimplex2S
+     */
+    public CaveCarverBuilder fastNoise(boolean fastNoise) {
+        settings.setFastNoise(fastNoise);
+        return this;
+    }
+
     /**
      * @param noiseType The type of noise this carver will use
      */
@@ -222,6 +240,10 @@ public class CaveCarverBuilder {
         return settings;
     }
 
+    public CaveType getCaveType() {
+        return caveType;
+    }
+
     public int getSurfaceCutoff() {
         return surfaceCutoff;
     }
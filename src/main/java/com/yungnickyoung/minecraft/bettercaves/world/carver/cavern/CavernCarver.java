@@ -4,14 +4,16 @@ import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
 import com.yungnickyoung.minecraft.bettercaves.enums.CavernType;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseColumn;
 import com.yungnickyoung.minecraft.bettercaves.noise.NoiseGen;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
 import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverSettings;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverUtils;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.ICarver;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
 import net.minecraft.world.chunk.ChunkPrimer;
 
 import java.util.List;
@@ -23,7 +25,6 @@ import java.util.List;
 public class CavernCarver implements ICarver {
     private CarverSettings settings;
     private NoiseGen noiseGen;
-    private World world;
 
     private CavernType cavernType;
     private int bottomY;
@@ -39,7 +40,6 @@ public class CavernCarver implements ICarver {
                 settings.getyCompression(),
                 settings.getXzCompression()
         );
-        world = builder.getSettings().getWorld();
         cavernType = builder.getCavernType();
         bottomY = builder.getBottomY();
         topY = builder.getTopY();
@@ -51,7 +51,7 @@ public class CavernCarver implements ICarver {
         }
     }
 
-    public void carveColumn(ChunkPrimer primer, BlockPos colPos, int topY, float smoothAmp, NoiseColumn noises, IBlockState liquidBlock, boolean flooded) {
+    public void carveColumn(ChunkPrimer primer, IBiomeView biomeView, BlockPos colPos, int topY, float smoothAmp, NoiseColumn noises, IBlockState liquidBlock, boolean flooded) {
         int localX = BetterCavesUtils.getLocal(colPos.getX());
         int localZ = BetterCavesUtils.getLocal(colPos.getZ());
 
@@ -67,6 +67,8 @@ public class CavernCarver implements ICarver {
         if (topY > 255)
             return;
 
+        GenerationStats.increment(GenerationCounter.COLUMNS_CARVED);
+
         // Set altitude at which caverns start closing off on the top
         topY -= 2;
         int topTransitionBoundary = topY - 6;
@@ -113,13 +115,13 @@ public class CavernCarver implements ICarver {
                 digBlock = true;
 
             BlockPos blockPos = new BlockPos(localX, y, localZ);
-            airBlockState = flooded && y < world.getSeaLevel() ? Blocks.WATER.getDefaultState() : Blocks.AIR.getDefaultState();
+            airBlockState = flooded && y < biomeView.getSeaLevel() ? Blocks.WATER.getDefaultState() : Blocks.AIR.getDefaultState();
 
             // Dig out the block if it passed the threshold check, using the debug visualizer if enabled
             if (settings.isEnableDebugVisualizer()) {
                 CarverUtils.debugDigBlock(primer, blockPos, settings.getDebugBlock(), digBlock);
             } else if (digBlock) {
-                CarverUtils.digBlock(settings.getWorld(), primer, blockPos, airBlockState, liquidBlock, settings.getLiquidAltitude(), settings.isReplaceFloatingGravel());
+                CarverUtils.digBlock(biomeView, primer, blockPos, airBlockState, liquidBlock, settings.getLiquidAltitude(), settings.isReplaceFloatingGravel());
             }
         }
     }
@@ -132,6 +134,10 @@ public class CavernCarver implements ICarver {
         return settings;
     }
 
+    public CavernType getCavernType() {
+        return cavernType;
+    }
+
     public int getPriority() {
         return settings.getPriority();
     }
@@ -0,0 +1,284 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.ravine;
+
+import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.ChunkColumns;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.ChunkPrimer;
+
+import java.util.Random;
+
+/**
+ * Generates vanilla ravines.
+ * The tracing code is directly taken from vanilla's MapGenRavine, with improved variable names
+ * and added comments to help clarify what is going on. Ravines are identical to vanilla's, with Better Caves' liquids
+ * and flooding.
+ *
+ * Vanilla re-traces every ravine within range of a chunk each time a chunk is carved. Here, each source chunk's ravine
+ * is traced once into a {@link RavineTrace} and kept in an LRU cache, and carving a chunk only replays its segments.
+ *
+ * Vanilla calls back into its MapGenBase for every block, building a BlockPos and looking up biomes each time.
+ * Here, each column's biome and flooding are looked up once per carved chunk, and blocks are dug directly.
+ * Vanilla's checks for water around a ravine and for the biome's top block are skipped, since Better Caves
+ * ignores both.
+ *
+ * Like the vanilla cave carver, this carver holds no per-chunk state, so a single instance may carve several chunks
+ * concurrently.
+ */
+public class RavineCarver {
+    /* IBlockStates used in this class */
+    private static final IBlockState AIR = Blocks.AIR.getDefaultState();
+    private static final IBlockState WATER = Blocks.WATER.getDefaultState();
+
+    private int liquidAltitude;
+    private boolean
+        isReplaceGravel,
+        isFloodedRavinesEnabled;
+
+    /** Traced ravines of recently visited source chunks, or null if ravines are traced for every chunk carved */
+    private RavineTraceCache traceCache;
+
+    public RavineCarver(final RavineCarverBuilder builder) {
+        this.liquidAltitude = builder.getLiquidAltitude();
+        this.isReplaceGravel = builder.isReplaceGravel();
+        this.isFloodedRavinesEnabled = builder.isFloodedRavinesEnabled();
+        if (builder.getTraceCacheSize() > 0)
+            this.traceCache = new RavineTraceCache(builder.getTraceCacheSize(), BCSettings.RAVINE_TRACE_CACHE_STRIPES);
+    }
+
+    /**
+     * Carves the ravines of all chunks within a certain square range (default 8) of this chunk.
+     * Only 1 in 50 source chunks has a ravine. That is decided by the first value drawn from the source chunk's
+     * Random, which is cheaper to check than a cache lookup, so source chunks without a ravine are skipped before
+     * the cache is consulted. Each ravine is traced once and cached, then replayed for every chunk it might reach.
+     * @param neighborhood Source chunks around the chunk being carved
+     * @param biomeView Biome view for the world the chunk is in
+     * @param liquidBlocks Liquid blocks for the chunk being carved, indexed by chunk-local x and z coordinates
+     */
+    public void generate(TunnelNeighborhood neighborhood, IBiomeView biomeView, ChunkPrimer primer, IBlockState[][] liquidBlocks) {
+        long seed = neighborhood.getWorldSeed();
+        int chunkX = neighborhood.getChunkX();
+        int chunkZ = neighborhood.getChunkZ();
+
+        // Center block of the origin chunk
+        double originBlockX = (chunkX * 16 + 8);
+        double originBlockZ = (chunkZ * 16 + 8);
+
+        // Created once a ravine reaches this chunk, which most chunks never need
+        ChunkColumns columns = null;
+
+        Random rand = new Random();
+        for (int source = 0; source < neighborhood.getSourceCount(); source++) {
+            long sourceSeed = neighborhood.getSourceSeed(source);
+            rand.setSeed(sourceSeed);
+            if (!hasRavine(rand))
+                continue;
+
+            int sourceChunkX = neighborhood.getSourceChunkX(source);
+            int sourceChunkZ = neighborhood.getSourceChunkZ(source);
+            RavineTrace trace = traceCache == null
+                ? traceChunk(seed, sourceChunkX, sourceChunkZ, sourceSeed)
+                : traceCache.get(seed, sourceChunkX, sourceChunkZ, (traceSeed, traceChunkX, traceChunkZ) -> traceChunk(traceSeed, traceChunkX, traceChunkZ, sourceSeed).trim());
+            if (!trace.mayReach(originBlockX, originBlockZ))
+                continue;
+
+            if (columns == null)
+                columns = new ChunkColumns(biomeView, chunkX, chunkZ, isFloodedRavinesEnabled);
+            this.carveTrace(trace, columns, chunkX, chunkZ, primer, liquidBlocks);
+        }
+    }
+
+    /**
+     * @param rand The source chunk's Random, seeded the same way MapGenBase does
+     * @return true if the source chunk has a ravine, with a 1 in 50 chance, same as vanilla
+     */
+    private static boolean hasRavine(Random rand) {
+        return rand.nextInt(50) == 0;
+    }
+
+    /**
+     * Traces the ravine starting in a source chunk, which must have one.
+     * @param seed The world seed
+     * @param chunkSeed Seed MapGenBase gives the source chunk's Random, from {@link TunnelNeighborhood#getSourceSeed}
+     */
+    private RavineTrace traceChunk(long seed, int chunkX, int chunkZ, long chunkSeed) {
+        Random rand = new Random(chunkSeed);
+        hasRavine(rand);
+
+        double ravineStartX = chunkX * 16 + rand.nextInt(16);
+        double ravineStartY = rand.nextInt(rand.nextInt(40) + 8) + 20;
+        double ravineStartZ = chunkZ * 16 + rand.nextInt(16);
+
+        float yaw = rand.nextFloat() * ((float) Math.PI * 2F);
+        float pitch = (rand.nextFloat() - 0.5F) * 2.0F / 8.0F;
+        float width = (rand.nextFloat() * 2.0F + rand.nextFloat()) * 2.0F;
+
+        RavineTrace trace = new RavineTrace(seed);
+        this.addTunnel(trace, rand.nextLong(), ravineStartX, ravineStartY, ravineStartZ, width, yaw, pitch, 0, 0, 3.0D);
+        return trace;
+    }
+
+    /**
+     * Traces a ravine, adding every segment that may carve to the trace.
+     * Vanilla stops a ravine once it can no longer reach the chunk being carved. Since a trace is shared by every
+     * chunk the ravine might reach, the whole ravine is traced here, and that check is made when the trace is carved.
+     */
+    private void addTunnel(RavineTrace trace, long seed, double ravineStartX, double ravineStartY, double ravineStartZ, float width, float yaw, float pitch, int startCounter, int endCounter, double heightModifier) {
+        Random random = new Random(seed);
+
+        // Variables to slightly change the yaw/pitch for each iteration in the while loop below.
+        float yawModifier = 0.0F;
+        float pitchModifier = 0.0F;
+
+        if (endCounter <= 0) {
+            int i = TunnelNeighborhood.RANGE * 16 - 16;
+            endCounter = i - random.nextInt(i / 4);
+        }
+
+        // Ravine walls are jagged: the width changes randomly every few blocks of altitude
+        float[] widthFactors = trace.getWidthFactors();
+        float widthFactor = 1.0F;
+        for (int y = 0; y < 256; ++y) {
+            if (y == 0 || random.nextInt(3) == 0) {
+                widthFactor = 1.0F + random.nextFloat() * random.nextFloat();
+            }
+            widthFactors[y] = widthFactor * widthFactor;
+        }
+
+        trace.setMaxDistance(width + 2.0F + 16.0F);
+
+        for (; startCounter < endCounter; ++startCounter) {
+            double xzOffset = 1.5D + (double) (MathHelper.sin((float) startCounter * (float) Math.PI / (float) endCounter) * width);
+            double yOffset = xzOffset * heightModifier;
+            xzOffset = xzOffset * ((double) random.nextFloat() * 0.25D + 0.75D);
+            yOffset = yOffset * ((double) random.nextFloat() * 0.25D + 0.75D);
+
+            float pitchXZ = MathHelper.cos(pitch);
+            float pitchY = MathHelper.sin(pitch);
+            ravineStartX += MathHelper.cos(yaw) * pitchXZ;
+            ravineStartY += pitchY;
+            ravineStartZ += MathHelper.sin(yaw) * pitchXZ;
+
+            pitch = pitch * 0.7F;
+            pitch = pitch + pitchModifier * 0.05F;
+            yaw += yawModifier * 0.05F;
+
+            pitchModifier = pitchModifier * 0.8F;
+            yawModifier = yawModifier * 0.5F;
+
+            pitchModifier = pitchModifier + (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 2.0F;
+            yawModifier = yawModifier + (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 4.0F;
+
+            if (random.nextInt(4) != 0) {
+                trace.addSegment(ravineStartX, ravineStartY, ravineStartZ, xzOffset, yOffset, endCounter - startCounter);
+            }
+        }
+    }
+
+    /**
+     * Carves a source chunk's traced ravine into the chunk being carved, making the same checks vanilla makes
+     * while tracing it.
+     */
+    private void carveTrace(RavineTrace trace, ChunkColumns columns, int originChunkX, int originChunkZ, ChunkPrimer primer, IBlockState[][] liquidBlocks) {
+        double[] segments = trace.getSegments();
+        double d6 = trace.getMaxDistance();
+
+        // Center block of the origin chunk
+        double originBlockX = (originChunkX * 16 + 8);
+        double originBlockZ = (originChunkZ * 16 + 8);
+
+        for (int i = 0; i < trace.getSegmentCount(); i++) {
+            int segment = i * RavineTrace.SEGMENT_STRIDE;
+            double ravineStartX = segments[segment + RavineTrace.X];
+            double ravineStartY = segments[segment + RavineTrace.Y];
+            double ravineStartZ = segments[segment + RavineTrace.Z];
+            double xzOffset = segments[segment + RavineTrace.XZ_RADIUS];
+            double yOffset = segments[segment + RavineTrace.Y_RADIUS];
+
+            double ravineStartXOffsetFromCenter = ravineStartX - originBlockX;
+            double ravineStartZOffsetFromCenter = ravineStartZ - originBlockZ;
+            double distanceToEnd = segments[segment + RavineTrace.DISTANCE_TO_END];
+
+            // Stop once the rest of the ravine can't reach the origin chunk
+            if (ravineStartXOffsetFromCenter * ravineStartXOffsetFromCenter + ravineStartZOffsetFromCenter * ravineStartZOffsetFromCenter - distanceToEnd * distanceToEnd > d6 * d6) {
+                return;
+            }
+
+            // Only continue if ravine start is close enough to origin
+            if (ravineStartX >= originBlockX - 16.0D - xzOffset * 2.0D && ravineStartZ >= originBlockZ - 16.0D - xzOffset * 2.0D && ravineStartX <= originBlockX + 16.0D + xzOffset * 2.0D && ravineStartZ <= originBlockZ + 16.0D + xzOffset * 2.0D) {
+                this.carveSegment(columns, originChunkX, originChunkZ, primer, liquidBlocks, trace.getWidthFactors(), ravineStartX, ravineStartY, ravineStartZ, xzOffset, yOffset);
+            }
+        }
+    }
+    /**
+     * Carves a single segment of a ravine into the chunk being carved.
+     */
+    private void carveSegment(ChunkColumns columns, int originChunkX, int originChunkZ, ChunkPrimer primer, IBlockState[][] liquidBlocks, float[] widthFactors, double ravineStartX, double ravineStartY, double ravineStartZ, double xzOffset, double yOffset) {
+        int minX = MathHelper.floor(ravineStartX - xzOffset) - originChunkX * 16 - 1;
+        int maxX = MathHelper.floor(ravineStartX + xzOffset) - originChunkX * 16 + 1;
+        int minY = MathHelper.floor(ravineStartY - yOffset) - 1;
+        int maxY = MathHelper.floor(ravineStartY + yOffset) + 1;
+        int minZ = MathHelper.floor(ravineStartZ - xzOffset) - originChunkZ * 16 - 1;
+        int maxZ = MathHelper.floor(ravineStartZ + xzOffset) - originChunkZ * 16 + 1;
+
+        if (minX < 0) {
+            minX = 0;
+        }
+
+        if (maxX > 16) {
+            maxX = 16;
+        }
+
+        if (minY < 1) {
+            minY = 1;
+        }
+
+        if (maxY > 248) {
+            maxY = 248;
+        }
+
+        if (minZ < 0) {
+            minZ = 0;
+        }
+
+        if (maxZ > 16) {
+            maxZ = 16;
+        }
+
+        for (int currX = minX; currX < maxX; ++currX) {
+            double xAxisDist = ((double) (currX + originChunkX * 16) + 0.5D - ravineStartX) / xzOffset;
+
+            for (int currZ = minZ; currZ < maxZ; ++currZ) {
+                double zAxisDist = ((double) (currZ + originChunkZ * 16) + 0.5D - ravineStartZ) / xzOffset;
+
+                // Only operate on points within ellipse on XZ axis. Avoids unnecessary computation along y axis
+                if (xAxisDist * xAxisDist + zAxisDist * zAxisDist >= 1.0D)
+                    continue;
+
+                Biome biome = columns.getBiome(currX, currZ);
+                IBlockState liquidBlock = liquidBlocks[currX][currZ];
+
+                // Below sea level, ocean columns are flooded. Don't dig walls between flooded and unflooded openings.
+                int floodedY = columns.isOcean(currX, currZ) ? columns.getSeaLevel() : Integer.MIN_VALUE;
+                boolean floodWall = floodedY != Integer.MIN_VALUE && columns.isFloodBoundary(currX, currZ);
+
+                for (int currY = maxY; currY > minY; --currY) {
+                    double yAxisDist = ((double) (currY - 1) + 0.5D - ravineStartY) / yOffset;
+
+                    if ((xAxisDist * xAxisDist + zAxisDist * zAxisDist) * (double) widthFactors[currY - 1] + yAxisDist * yAxisDist / 6.0D < 1.0D) {
+                        if (currY < floodedY) {
+                            if (!floodWall)
+                                CarverUtils.digBlock(primer, biome, currX, currY, currZ, WATER, liquidBlock, this.liquidAltitude, this.isReplaceGravel);
+                        } else {
+                            CarverUtils.digBlock(primer, biome, currX, currY, currZ, AIR, liquidBlock, this.liquidAltitude, this.isReplaceGravel);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.ravine;
+
+import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
+
+public class RavineCarverBuilder {
+    private int
+        liquidAltitude = 10,
+        traceCacheSize = BCSettings.RAVINE_TRACE_CACHE_SIZE;
+    private boolean
+        isReplaceGravel,
+        isFloodedRavinesEnabled;
+
+    public RavineCarver build() {
+        return new RavineCarver(this);
+    }
+
+    /* ================================== Builder Setters ================================== */
+    public RavineCarverBuilder liquidAltitude(int liquidAltitude) {
+        this.liquidAltitude = liquidAltitude;
+        return this;
+    }
+
+    public RavineCarverBuilder replaceGravel(boolean replaceGravel) {
+        isReplaceGravel = replaceGravel;
+        return this;
+    }
+
+    /**
+     * @param floodedRavines set true to flood ravines in ocean biomes below sea level
+     */
+    public RavineCarverBuilder floodedRavines(boolean floodedRavines) {
+        isFloodedRavinesEnabled = floodedRavines;
+        return this;
+    }
+
+    /**
+     * @param traceCacheSize Number of source chunks whose traced ravines are cached. Set to 0 to trace ravines
+     *                       from scratch for every chunk carved.
+     */
+    public RavineCarverBuilder traceCacheSize(int traceCacheSize) {
+        this.traceCacheSize = traceCacheSize;
+        return this;
+    }
+
+
+    /* ================================== Builder Getters ================================== */
+    public int getLiquidAltitude() {
+        return liquidAltitude;
+    }
+
+    public boolean isReplaceGravel() {
+        return isReplaceGravel;
+    }
+
+    public boolean isFloodedRavinesEnabled() {
+        return isFloodedRavinesEnabled;
+    }
+
+    public int getTraceCacheSize() {
+        return traceCacheSize;
+    }
+}
@@ -0,0 +1,105 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.ravine;
+
+import java.util.Arrays;
+
+/**
+ * The ravine starting in a single source chunk, traced once as a list of segments.
+ *
+ * Like vanilla cave tunnels, tracing a ravine only depends on the world seed and the source chunk, so a trace can be
+ * replayed for every chunk the ravine might reach. Only segments that would carve are stored, in the order vanilla
+ * visits them. The ravine's bounding box on the block grid lets chunks it can't reach skip it entirely.
+ */
+public class RavineTrace {
+    /* Values stored for each segment */
+    static final int X = 0, Y = 1, Z = 2, XZ_RADIUS = 3, Y_RADIUS = 4, DISTANCE_TO_END = 5;
+    static final int SEGMENT_STRIDE = 6;
+
+    private final long seed;
+
+    /** Squared width factor for each y-coordinate, making the ravine's walls jagged */
+    private final float[] widthFactors = new float[256];
+
+    /** Distance from a chunk's center beyond which the rest of the ravine can't reach that chunk */
+    private double maxDistance;
+
+    private double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+    private double minZ = Double.POSITIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+
+    private int segmentCount;
+    private double[] segments = new double[SEGMENT_STRIDE * 64];
+
+    RavineTrace(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Adds a segment to the ravine.
+     * @param x Center x-coordinate
+     * @param y Center y-coordinate
+     * @param z Center z-coordinate
+     * @param xzRadius Horizontal radius
+     * @param yRadius Vertical radius
+     * @param distanceToEnd Number of steps left until the ravine ends
+     */
+    void addSegment(double x, double y, double z, double xzRadius, double yRadius, double distanceToEnd) {
+        if ((segmentCount + 1) * SEGMENT_STRIDE > segments.length)
+            segments = Arrays.copyOf(segments, Math.max(segments.length * 2, SEGMENT_STRIDE * 64));
+
+        int i = segmentCount * SEGMENT_STRIDE;
+        segments[i + X] = x;
+        segments[i + Y] = y;
+        segments[i + Z] = z;
+        segments[i + XZ_RADIUS] = xzRadius;
+        segments[i + Y_RADIUS] = yRadius;
+        segments[i + DISTANCE_TO_END] = distanceToEnd;
+        segmentCount++;
+
+        // A segment carves into a chunk if its center is within 16 + 2 * radius blocks of the chunk's center
+        double reach = 16.0D + xzRadius * 2.0D;
+        minX = Math.min(minX, x - reach);
+        maxX = Math.max(maxX, x + reach);
+        minZ = Math.min(minZ, z - reach);
+        maxZ = Math.max(maxZ, z + reach);
+    }
+
+    /**
+     * Releases unused capacity. Should be called once tracing is done.
+     * @return This trace
+     */
+    RavineTrace trim() {
+        segments = Arrays.copyOf(segments, segmentCount * SEGMENT_STRIDE);
+        return this;
+    }
+
+    /**
+     * @return true if any segment of this ravine could carve into the chunk centered on the given block
+     */
+    boolean mayReach(double centerX, double centerZ) {
+        // Allow an extra block of slack so rounding never culls a segment that would carve
+        return centerX >= minX - 1 && centerX <= maxX + 1 && centerZ >= minZ - 1 && centerZ <= maxZ + 1;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    float[] getWidthFactors() {
+        return widthFactors;
+    }
+
+    double getMaxDistance() {
+        return maxDistance;
+    }
+
+    void setMaxDistance(double maxDistance) {
+        this.maxDistance = maxDistance;
+    }
+
+    double[] getSegments() {
+        return segments;
+    }
+}
@@ -0,0 +1,50 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.ravine;
+
+import com.yungnickyoung.minecraft.bettercaves.util.StripedLruCache;
+import net.minecraft.util.math.ChunkPos;
+
+/**
+ * Size-bounded, thread-safe cache of {@link RavineTrace}s, keyed by source chunk, backed by a
+ * {@link StripedLruCache}. Traces are computed outside of the cache's locks.
+ * Only source chunks that have a ravine are stored, so a small cache covers a large area.
+ * Each trace remembers the seed it was traced with, and is recomputed if it doesn't match.
+ */
+public class RavineTraceCache {
+    private final StripedLruCache<Long, RavineTrace> cache;
+
+    /**
+     * @param capacity Maximum number of source chunks held across all stripes
+     * @param numStripes Number of independently locked stripes. Must be a power of 2.
+     */
+    public RavineTraceCache(int capacity, int numStripes) {
+        this.cache = new StripedLruCache<>(capacity, numStripes, StripedLruCache::hashChunkKey);
+    }
+
+    /**
+     * Returns the trace for a source chunk, computing and caching it if it is not already present.
+     */
+    public RavineTrace get(long seed, int chunkX, int chunkZ, ITraceFunction traceFunction) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+
+        RavineTrace trace = cache.get(key);
+        if (trace == null || trace.getSeed() != seed) {
+            trace = traceFunction.trace(seed, chunkX, chunkZ);
+            cache.put(key, trace);
+        }
+        return trace;
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Traces the ravine starting in a source chunk.
+     */
+    public interface ITraceFunction {
+        RavineTrace trace(long seed, int chunkX, int chunkZ);
+    }
+}
@@ -0,0 +1,72 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.ravine;
+
+import java.util.Random;
+
+/**
+ * The source chunks whose tunnels may reach a chunk, and the seed each source chunk's tunnels are traced with.
+ *
+ * MapGenBase seeds a Random for every source chunk from the world seed and the chunk's coordinates. The ravine carver
+ * uses this to visit the same source chunks, with the same seeds, as vanilla's MapGenRavine.
+ * Instances are immutable, and may be shared between threads.
+ */
+public class TunnelNeighborhood {
+    /** Radius, in chunks, of the area checked for caves that reach into the chunk being carved. Same as MapGenBase. */
+    public static final int RANGE = 8;
+    private static final int SIZE = RANGE * 2 + 1;
+
+    private final long worldSeed;
+    private final int chunkX, chunkZ;
+    private final long[] sourceSeeds = new long[SIZE * SIZE];
+
+    /**
+     * @param worldSeed The world seed
+     * @param chunkX The x-coordinate of the chunk being carved
+     * @param chunkZ The z-coordinate of the chunk being carved
+     */
+    public TunnelNeighborhood(long worldSeed, int chunkX, int chunkZ) {
+        this.worldSeed = worldSeed;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+
+        // Same as MapGenBase, which draws these from a fresh Random for every source chunk
+        Random rand = new Random(worldSeed);
+        long xMultiplier = rand.nextLong();
+        long zMultiplier = rand.nextLong();
+        for (int i = 0; i < sourceSeeds.length; i++)
+            sourceSeeds[i] = (long) getSourceChunkX(i) * xMultiplier ^ (long) getSourceChunkZ(i) * zMultiplier ^ worldSeed;
+    }
+
+    public long getWorldSeed() {
+        return worldSeed;
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    /**
+     * @return Number of source chunks. Source chunks are ordered by x-coordinate, then z-coordinate, same as MapGenBase.
+     */
+    public int getSourceCount() {
+        return sourceSeeds.length;
+    }
+
+    public int getSourceChunkX(int source) {
+        return chunkX - RANGE + source / SIZE;
+    }
+
+    public int getSourceChunkZ(int source) {
+        return chunkZ - RANGE + source % SIZE;
+    }
+
+    /**
+     * @return The seed MapGenBase gives the Random used to trace a source chunk's tunnels
+     */
+    public long getSourceSeed(int source) {
+        return sourceSeeds[source];
+    }
+}
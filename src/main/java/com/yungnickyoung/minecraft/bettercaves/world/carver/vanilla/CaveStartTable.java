@@ -0,0 +1,188 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla;
+
+import java.util.Arrays;
+
+/**
+ * The tunnel starts of every source chunk in a region of 32x32 chunks, the same area as a region file.
+ *
+ * Before tracing a source chunk's tunnels, vanilla draws the chunk's starts from its Random: the number of attempts,
+ * each start's position, whether it has a room, and each tunnel's yaw, pitch, width and seed. Those draws only depend
+ * on the world seed, the carver's settings and the chunk, so they are made once for a whole region and stored
+ * compactly here. Starts are kept in the order vanilla draws them, and each chunk's starts are contiguous.
+ *
+ * Tables are only kept in memory. Rebuilding one costs about as much as inflating and decoding a saved copy, before
+ * any disk I/O (see CaveStartTableBenchmark), so they are not saved with the world.
+ */
+public class CaveStartTable {
+    /** Regions are 32x32 chunks */
+    static final int REGION_SHIFT = 5;
+    static final int REGION_SIZE = 1 << REGION_SHIFT;
+    static final int CHUNK_COUNT = REGION_SIZE * REGION_SIZE;
+
+    /* Values stored for each start's shape */
+    private static final int WIDTH = 0, YAW = 1, PITCH = 2;
+    private static final int SHAPE_STRIDE = 3;
+
+    private final long seed;
+    private final boolean addRooms;
+    private final int regionX, regionZ;
+
+    private final int[] chunkEnds = new int[CHUNK_COUNT]; // Index of the first start after each chunk's starts
+
+    private int startCount;
+    private int[] positions = new int[64];                // Local x, local z, room flag and y of each start, packed
+    private float[] shapes = new float[SHAPE_STRIDE * 64];
+    private long[] tunnelSeeds = new long[64];
+
+    CaveStartTable(long seed, boolean addRooms, int regionX, int regionZ) {
+        this.seed = seed;
+        this.addRooms = addRooms;
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+    }
+
+    /**
+     * @return The index of the region containing the given chunk, on either axis
+     */
+    static int getRegion(int chunkCoordinate) {
+        return chunkCoordinate >> REGION_SHIFT;
+    }
+
+    /**
+     * @return The x-coordinate of a chunk in this region. Chunks are ordered by x-coordinate, then z-coordinate.
+     */
+    int getChunkX(int chunk) {
+        return (regionX << REGION_SHIFT) + (chunk >> REGION_SHIFT);
+    }
+
+    /**
+     * @return The z-coordinate of a chunk in this region. Chunks are ordered by x-coordinate, then z-coordinate.
+     */
+    int getChunkZ(int chunk) {
+        return (regionZ << REGION_SHIFT) + (chunk & (REGION_SIZE - 1));
+    }
+
+    /**
+     * Adds a start to the chunk currently being filled in.
+     * @param localX Chunk-local x-coordinate of the start
+     * @param y y-coordinate of the start
+     * @param localZ Chunk-local z-coordinate of the start
+     * @param isRoom true if this start is a room, which has no yaw or pitch
+     * @param width Width of the tunnel or room
+     * @param yaw Initial yaw of the tunnel
+     * @param pitch Initial pitch of the tunnel
+     * @param tunnelSeed Seed of the Random used to trace the tunnel
+     */
+    void addStart(int localX, int y, int localZ, boolean isRoom, float width, float yaw, float pitch, long tunnelSeed) {
+        if (startCount == positions.length) {
+            int newLength = Math.max(startCount * 2, 64);
+            positions = Arrays.copyOf(positions, newLength);
+            shapes = Arrays.copyOf(shapes, newLength * SHAPE_STRIDE);
+            tunnelSeeds = Arrays.copyOf(tunnelSeeds, newLength);
+        }
+
+        positions[startCount] = localX | localZ << 4 | (isRoom ? 1 : 0) << 8 | y << 9;
+        int shape = startCount * SHAPE_STRIDE;
+        shapes[shape + WIDTH] = width;
+        shapes[shape + YAW] = yaw;
+        shapes[shape + PITCH] = pitch;
+        tunnelSeeds[startCount] = tunnelSeed;
+        startCount++;
+    }
+
+    /**
+     * Ends a chunk's starts. Starts added afterwards belong to the next chunk.
+     */
+    void endChunk(int chunk) {
+        chunkEnds[chunk] = startCount;
+    }
+
+    /**
+     * Releases unused capacity. Should be called once every chunk has been filled in.
+     * @return This table
+     */
+    CaveStartTable trim() {
+        positions = Arrays.copyOf(positions, startCount);
+        shapes = Arrays.copyOf(shapes, startCount * SHAPE_STRIDE);
+        tunnelSeeds = Arrays.copyOf(tunnelSeeds, startCount);
+        return this;
+    }
+
+    /**
+     * @return true if the given chunk is in this table's region
+     */
+    boolean contains(int chunkX, int chunkZ) {
+        return getRegion(chunkX) == regionX && getRegion(chunkZ) == regionZ;
+    }
+
+    /**
+     * @return Index of the first start of a chunk in this table's region
+     */
+    int getFirstStart(int chunkX, int chunkZ) {
+        int chunk = chunkIndex(chunkX, chunkZ);
+        return chunk == 0 ? 0 : chunkEnds[chunk - 1];
+    }
+
+    /**
+     * @return Index of the first start after the starts of a chunk in this table's region
+     */
+    int getEndStart(int chunkX, int chunkZ) {
+        return chunkEnds[chunkIndex(chunkX, chunkZ)];
+    }
+
+    int getLocalX(int start) {
+        return positions[start] & 15;
+    }
+
+    int getLocalZ(int start) {
+        return positions[start] >> 4 & 15;
+    }
+
+    int getY(int start) {
+        return positions[start] >> 9;
+    }
+
+    boolean isRoom(int start) {
+        return (positions[start] >> 8 & 1) != 0;
+    }
+
+    float getWidth(int start) {
+        return shapes[start * SHAPE_STRIDE + WIDTH];
+    }
+
+    float getYaw(int start) {
+        return shapes[start * SHAPE_STRIDE + YAW];
+    }
+
+    float getPitch(int start) {
+        return shapes[start * SHAPE_STRIDE + PITCH];
+    }
+
+    long getTunnelSeed(int start) {
+        return tunnelSeeds[start];
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isAddRooms() {
+        return addRooms;
+    }
+
+    public int getRegionX() {
+        return regionX;
+    }
+
+    public int getRegionZ() {
+        return regionZ;
+    }
+
+    public int getStartCount() {
+        return startCount;
+    }
+
+    private static int chunkIndex(int chunkX, int chunkZ) {
+        return (chunkX & (REGION_SIZE - 1)) << REGION_SHIFT | chunkZ & (REGION_SIZE - 1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla;
+
+import com.yungnickyoung.minecraft.bettercaves.util.StripedLruCache;
+import net.minecraft.util.math.ChunkPos;
+
+/**
+ * Size-bounded, thread-safe cache of {@link CaveStartTable}s, keyed by region, backed by a {@link StripedLruCache}.
+ * Tables are computed outside of the cache's locks.
+ * Each table remembers the seed and room setting it was computed with, and is recomputed if they don't match.
+ */
+public class CaveStartTableCache {
+    private final StripedLruCache<Long, CaveStartTable> cache;
+
+    /**
+     * @param capacity Maximum number of regions held across all stripes
+     * @param numStripes Number of independently locked stripes. Must be a power of 2.
+     */
+    public CaveStartTableCache(int capacity, int numStripes) {
+        this.cache = new StripedLruCache<>(capacity, numStripes, StripedLruCache::hashChunkKey);
+    }
+
+    /**
+     * Returns the table for the region containing a chunk, computing and caching it if it is not already present.
+     */
+    public CaveStartTable get(long seed, boolean addRooms, int chunkX, int chunkZ, ITableFunction tableFunction) {
+        int regionX = CaveStartTable.getRegion(chunkX);
+        int regionZ = CaveStartTable.getRegion(chunkZ);
+        long key = ChunkPos.asLong(regionX, regionZ);
+
+        CaveStartTable table = cache.get(key);
+        if (table == null || table.getSeed() != seed || table.isAddRooms() != addRooms) {
+            table = tableFunction.compute(seed, addRooms, regionX, regionZ);
+            cache.put(key, table);
+        }
+        return table;
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Computes the table of a region.
+     */
+    public interface ITableFunction {
+        CaveStartTable compute(long seed, boolean addRooms, int regionX, int regionZ);
+    }
+}
@@ -0,0 +1,182 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla;
+
+import java.util.Arrays;
+
+/**
+ * The tunnels that start in a single source chunk, traced once as a list of ellipsoid segments.
+ *
+ * Tracing a tunnel only depends on the world seed and the source chunk, so a trace can be replayed for every chunk
+ * the tunnel might reach. Only segments that would carve are stored. Segments are kept in the order vanilla
+ * visits them, and each tunnel's segments are contiguous: a tunnel that branches stops once it branches, and its
+ * two branches are stored right after it.
+ *
+ * Tunnels are grouped into families (a tunnel and its branches), each with a bounding box on the block grid.
+ * A family can only carve into chunks whose center lies inside its box, so replaying a trace for a chunk can skip
+ * every other family without looking at its segments.
+ */
+public class TunnelTrace {
+    /* Values stored for each segment */
+    static final int X = 0, Y = 1, Z = 2, XZ_RADIUS = 3, Y_RADIUS = 4, DISTANCE_TO_END = 5, MAX_DISTANCE = 6;
+    static final int SEGMENT_STRIDE = 7;
+
+    /* Values stored for each family's bounding box */
+    static final int MIN_X = 0, MAX_X = 1, MIN_Z = 2, MAX_Z = 3;
+    static final int BOUNDS_STRIDE = 4;
+
+    private final long seed;
+    private final boolean addRooms;
+
+    private int tunnelCount;
+    private int[] tunnelEnds = new int[4];       // Index of the first segment after each tunnel
+    private boolean[] tunnelIsBranch = new boolean[4];
+    private boolean[] tunnelIsRoom = new boolean[4];
+    private int[] tunnelFamilies = new int[4];   // Index of the family each tunnel belongs to
+
+    private int familyCount;
+    private double[] familyBounds = new double[BOUNDS_STRIDE];
+
+    private int segmentCount;
+    private double[] segments = new double[SEGMENT_STRIDE * 16];
+
+    TunnelTrace(long seed, boolean addRooms) {
+        this.seed = seed;
+        this.addRooms = addRooms;
+    }
+
+    /**
+     * Starts a new tunnel. Segments added afterwards belong to it, until the next tunnel is started.
+     * @param isBranch true if this tunnel branches off of the most recent tunnel that isn't a branch
+     * @param isRoom true if this tunnel is a room, which stops after carving its first segment
+     * @return The new tunnel's index
+     */
+    int beginTunnel(boolean isBranch, boolean isRoom) {
+        if (tunnelCount == tunnelEnds.length) {
+            int newLength = Math.max(tunnelCount * 2, 4);
+            tunnelEnds = Arrays.copyOf(tunnelEnds, newLength);
+            tunnelIsBranch = Arrays.copyOf(tunnelIsBranch, newLength);
+            tunnelIsRoom = Arrays.copyOf(tunnelIsRoom, newLength);
+            tunnelFamilies = Arrays.copyOf(tunnelFamilies, newLength);
+        }
+        if (!isBranch) {
+            if (familyCount * BOUNDS_STRIDE == familyBounds.length)
+                familyBounds = Arrays.copyOf(familyBounds, Math.max(familyBounds.length * 2, BOUNDS_STRIDE));
+            int bounds = familyCount * BOUNDS_STRIDE;
+            familyBounds[bounds + MIN_X] = familyBounds[bounds + MIN_Z] = Double.POSITIVE_INFINITY;
+            familyBounds[bounds + MAX_X] = familyBounds[bounds + MAX_Z] = Double.NEGATIVE_INFINITY;
+            familyCount++;
+        }
+
+        tunnelEnds[tunnelCount] = segmentCount;
+        tunnelIsBranch[tunnelCount] = isBranch;
+        tunnelIsRoom[tunnelCount] = isRoom;
+        tunnelFamilies[tunnelCount] = familyCount - 1;
+        return tunnelCount++;
+    }
+
+    /**
+     * Adds a segment to the most recently started tunnel.
+     * @param x Center x-coordinate
+     * @param y Center y-coordinate
+     * @param z Center z-coordinate
+     * @param xzRadius Horizontal radius
+     * @param yRadius Vertical radius
+     * @param distanceToEnd Number of steps left until the tunnel ends
+     * @param maxDistance Distance from a chunk's center beyond which the rest of the tunnel can't reach that chunk
+     */
+    void addSegment(double x, double y, double z, double xzRadius, double yRadius, double distanceToEnd, double maxDistance) {
+        if ((segmentCount + 1) * SEGMENT_STRIDE > segments.length)
+            segments = Arrays.copyOf(segments, Math.max(segments.length * 2, SEGMENT_STRIDE * 16));
+
+        int i = segmentCount * SEGMENT_STRIDE;
+        segments[i + X] = x;
+        segments[i + Y] = y;
+        segments[i + Z] = z;
+        segments[i + XZ_RADIUS] = xzRadius;
+        segments[i + Y_RADIUS] = yRadius;
+        segments[i + DISTANCE_TO_END] = distanceToEnd;
+        segments[i + MAX_DISTANCE] = maxDistance;
+        segmentCount++;
+        tunnelEnds[tunnelCount - 1] = segmentCount;
+
+        // A segment carves into a chunk if its center is within 16 + 2 * radius blocks of the chunk's center
+        int bounds = (familyCount - 1) * BOUNDS_STRIDE;
+        double reach = 16.0D + xzRadius * 2.0D;
+        familyBounds[bounds + MIN_X] = Math.min(familyBounds[bounds + MIN_X], x - reach);
+        familyBounds[bounds + MAX_X] = Math.max(familyBounds[bounds + MAX_X], x + reach);
+        familyBounds[bounds + MIN_Z] = Math.min(familyBounds[bounds + MIN_Z], z - reach);
+        familyBounds[bounds + MAX_Z] = Math.max(familyBounds[bounds + MAX_Z], z + reach);
+    }
+
+    /**
+     * Removes all tunnels, so a trace that isn't cached can be reused for the next source chunk.
+     */
+    void clear() {
+        tunnelCount = 0;
+        familyCount = 0;
+        segmentCount = 0;
+    }
+
+    /**
+     * Releases unused capacity. Should be called once tracing is done.
+     * @return This trace
+     */
+    TunnelTrace trim() {
+        tunnelEnds = Arrays.copyOf(tunnelEnds, tunnelCount);
+        tunnelIsBranch = Arrays.copyOf(tunnelIsBranch, tunnelCount);
+        tunnelIsRoom = Arrays.copyOf(tunnelIsRoom, tunnelCount);
+        tunnelFamilies = Arrays.copyOf(tunnelFamilies, tunnelCount);
+        familyBounds = Arrays.copyOf(familyBounds, familyCount * BOUNDS_STRIDE);
+        segments = Arrays.copyOf(segments, segmentCount * SEGMENT_STRIDE);
+        return this;
+    }
+
+    /**
+     * @return true if any segment of a tunnel family could carve into the chunk centered on the given block
+     */
+    boolean mayReach(int family, double centerX, double centerZ) {
+        // Allow an extra block of slack so rounding never culls a segment that would carve
+        int bounds = family * BOUNDS_STRIDE;
+        return centerX >= familyBounds[bounds + MIN_X] - 1 && centerX <= familyBounds[bounds + MAX_X] + 1
+            && centerZ >= familyBounds[bounds + MIN_Z] - 1 && centerZ <= familyBounds[bounds + MAX_Z] + 1;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isAddRooms() {
+        return addRooms;
+    }
+
+    public int getTunnelCount() {
+        return tunnelCount;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    int getTunnelStart(int tunnel) {
+        return tunnel == 0 ? 0 : tunnelEnds[tunnel - 1];
+    }
+
+    int getTunnelEnd(int tunnel) {
+        return tunnelEnds[tunnel];
+    }
+
+    boolean isBranch(int tunnel) {
+        return tunnelIsBranch[tunnel];
+    }
+
+    boolean isRoom(int tunnel) {
+        return tunnelIsRoom[tunnel];
+    }
+
+    int getFamily(int tunnel) {
+        return tunnelFamilies[tunnel];
+    }
+
+    double[] getSegments() {
+        return segments;
+    }
+}
@@ -0,0 +1,49 @@
+package com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla;
+
+import com.yungnickyoung.minecraft.bettercaves.util.StripedLruCache;
+import net.minecraft.util.math.ChunkPos;
+
+/**
+ * Size-bounded, thread-safe cache of {@link TunnelTrace}s, keyed by source chunk, backed by a
+ * {@link StripedLruCache}. Traces are computed outside of the cache's locks.
+ * Each trace remembers the seed and room setting it was traced with, and is recomputed if they don't match.
+ */
+public class TunnelTraceCache {
+    private final StripedLruCache<Long, TunnelTrace> cache;
+
+    /**
+     * @param capacity Maximum number of source chunks held across all stripes
+     * @param numStripes Number of independently locked stripes. Must be a power of 2.
+     */
+    public TunnelTraceCache(int capacity, int numStripes) {
+        this.cache = new StripedLruCache<>(capacity, numStripes, StripedLruCache::hashChunkKey);
+    }
+
+    /**
+     * Returns the trace for a source chunk, computing and caching it if it is not already present.
+     */
+    public TunnelTrace get(long seed, boolean addRooms, int chunkX, int chunkZ, ITraceFunction traceFunction) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+
+        TunnelTrace trace = cache.get(key);
+        if (trace == null || trace.getSeed() != seed || trace.isAddRooms() != addRooms) {
+            trace = traceFunction.trace(seed, addRooms, chunkX, chunkZ);
+            cache.put(key, trace);
+        }
+        return trace;
+    }
+
+    /**
+     * Removes all entries from this cache.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Traces the tunnels starting in a source chunk.
+     */
+    public interface ITraceFunction {
+        TunnelTrace trace(long seed, boolean addRooms, int chunkX, int chunkZ);
+    }
+}
@@ -1,20 +1,19 @@
 package com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla;
 
 import com.yungnickyoung.minecraft.bettercaves.BetterCaves;
-import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
+import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationCounter;
+import com.yungnickyoung.minecraft.bettercaves.profiling.GenerationStats;
+import com.yungnickyoung.minecraft.bettercaves.world.IBiomeView;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.CarverUtils;
+import com.yungnickyoung.minecraft.bettercaves.world.carver.ChunkColumns;
 import com.yungnickyoung.minecraft.bettercaves.world.carver.ICarver;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
-import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.chunk.ChunkPrimer;
-import net.minecraft.world.gen.MapGenCaves;
-import net.minecraftforge.common.BiomeDictionary;
 
-import javax.annotation.Nonnull;
 import java.util.Arrays;
 import java.util.Random;
 
@@ -22,8 +21,33 @@ import java.util.Random;
  * Generates vanilla caves, with the ability to modify some parameters.
  * Most of the code is directly taken from vanilla caves, with improved variable names
  * and added comments to help clarify what is going on.
+ *
+ * Unlike vanilla's MapGenCaves, this carver holds no per-chunk state: the Random and biome view are passed
+ * down through each call, so a single instance may carve several chunks concurrently.
+ *
+ * Vanilla re-traces every tunnel within range of a chunk each time a chunk is carved, so each tunnel is traced
+ * once for each of the 289 chunks around its source chunk. Here, the tunnels of each source chunk are traced once
+ * into a {@link TunnelTrace} and kept in an LRU cache, and carving a chunk only replays the cached segments.
+ * Carved blocks are identical to tracing from scratch.
+ * Only source chunks close enough for their tunnels to reach the chunk being carved are visited, which leaves out
+ * the corners of vanilla's square range.
+ * The tunnel starts of each source chunk are drawn once per region of 32x32 source chunks into a
+ * {@link CaveStartTable}, so tracing a source chunk only replays its starts.
+ *
+ * Segments are carved column by column, digging each column's span of blocks directly with biome information
+ * looked up once per column of the chunk, so no objects are allocated per carved block.
  */
-public class VanillaCaveCarver extends MapGenCaves implements ICarver {
+public class VanillaCaveCarver implements ICarver {
+    /* IBlockStates used in this class */
+    private static final IBlockState AIR = Blocks.AIR.getDefaultState();
+    private static final IBlockState WATER = Blocks.WATER.getDefaultState();
+
+    /** Radius, in chunks, of the area checked for caves that reach into the chunk being carved. Same as MapGenBase. */
+    private static final int RANGE = 8;
+
+    /** Max number of steps a tunnel takes. Same as vanilla. */
+    private static final int MAX_TUNNEL_LENGTH = RANGE * 16 - 16;
+
     private int
         bottomY,
         topY,
@@ -36,6 +60,22 @@ public class VanillaCaveCarver extends MapGenCaves implements ICarver {
         isReplaceGravel,
         isFloodedUndergroundEnabled;
 
+    /** Traced tunnels of recently visited source chunks, or null if tunnels are traced for every chunk carved */
+    private TunnelTraceCache traceCache;
+
+    /** Offsets of the source chunks visited when carving with and without rooms, as x, z pairs */
+    private int[] sourcesWithRooms, sourcesWithoutRooms;
+
+    /** Tunnel starts of recently visited regions */
+    private final CaveStartTableCache startTableCache = new CaveStartTableCache(BCSettings.CAVE_START_TABLE_CACHE_SIZE, BCSettings.CAVE_START_TABLE_CACHE_STRIPES);
+
+    /** Traces a source chunk for the trace cache */
+    private final TunnelTraceCache.ITraceFunction traceFunction = (seed, addRooms, sourceChunkX, sourceChunkZ) ->
+        traceChunk(new TunnelTrace(seed, addRooms), sourceChunkX, sourceChunkZ, getStartTable(seed, addRooms, sourceChunkX, sourceChunkZ)).trim();
+
+    /** Draws the tunnel starts of a region for the start table cache */
+    private final CaveStartTableCache.ITableFunction tableFunction = this::computeStartTable;
+
     public VanillaCaveCarver(final VanillaCaveCarverBuilder builder) {
         this.bottomY = builder.getBottomY();
         this.topY = builder.getTopY();
@@ -46,78 +86,222 @@ public class VanillaCaveCarver extends MapGenCaves implements ICarver {
         this.isDebugVisualizerEnabled = builder.isDebugVisualizerEnabled();
         this.isReplaceGravel = builder.isReplaceGravel();
         this.isFloodedUndergroundEnabled = builder.isFloodedUndergroundEnabled();
+        if (builder.getTraceCacheSize() > 0)
+            this.traceCache = new TunnelTraceCache(builder.getTraceCacheSize(), BCSettings.TUNNEL_TRACE_CACHE_STRIPES);
         if (bottomY > topY) {
             BetterCaves.LOGGER.warn("Warning: Min altitude for vanilla caves should not be greater than max altitude.");
             BetterCaves.LOGGER.warn("Using default values...");
             this.bottomY = 40;
             this.topY = 128;
         }
+        if (builder.getSearchRadius() > 0) {
+            this.sourcesWithRooms = getSourcesWithin(builder.getSearchRadius() * 16);
+            this.sourcesWithoutRooms = this.sourcesWithRooms;
+        } else {
+            this.sourcesWithRooms = getSourcesWithin(getMaxSourceDistance(true));
+            this.sourcesWithoutRooms = getSourcesWithin(getMaxSourceDistance(false));
+        }
     }
 
     /**
-     * Calls recursiveGenerate() on all chunks within a certain square range (default 8) of this chunk.
+     * @param radius Distance, in blocks
+     * @return Offsets, in chunks, of the source chunks within vanilla's square range whose centers are at most the
+     *         given distance from the center of the chunk being carved, as x, z pairs. Ordered by x-offset, then
+     *         z-offset, same as MapGenBase.
      */
-    public void generate(World worldIn, int chunkX, int chunkZ, ChunkPrimer primer, boolean addRooms, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
-        int chunkRadius = this.range;
-        this.world = worldIn;
-        this.rand.setSeed(worldIn.getSeed());
-        long j = this.rand.nextLong();
-        long k = this.rand.nextLong();
-        for (int currChunkX = chunkX - chunkRadius; currChunkX <= chunkX + chunkRadius; ++currChunkX) {
-            for (int currChunkZ = chunkZ - chunkRadius; currChunkZ <= chunkZ + chunkRadius; ++currChunkZ) {
-                long j1 = (long) currChunkX * j;
-                long k1 = (long) currChunkZ * k;
-                this.rand.setSeed(j1 ^ k1 ^ worldIn.getSeed());
-                this.recursiveGenerate(currChunkX, currChunkZ, chunkX, chunkZ, primer, addRooms, liquidBlocks, carvingMask);
+    private static int[] getSourcesWithin(double radius) {
+        int[] offsets = new int[(RANGE * 2 + 1) * (RANGE * 2 + 1) * 2];
+        int length = 0;
+        for (int offsetX = -RANGE; offsetX <= RANGE; offsetX++) {
+            for (int offsetZ = -RANGE; offsetZ <= RANGE; offsetZ++) {
+                if (offsetX * offsetX * 256 + offsetZ * offsetZ * 256 <= radius * radius) {
+                    offsets[length++] = offsetX;
+                    offsets[length++] = offsetZ;
+                }
             }
         }
+        return Arrays.copyOf(offsets, length);
     }
 
-    public void generate(World worldIn, int x, int z, ChunkPrimer primer, boolean addRooms, IBlockState[][] liquidBlocks) {
+    /**
+     * Bounds how far a source chunk's tunnels can carve.
+     * A tunnel moves at most one block horizontally per step, and vanilla stops carving a segment once its distance
+     * from the chunk being carved exceeds the tunnel's remaining steps by more than its width + 18 blocks.
+     * This doesn't depend on the altitude of the caves.
+     * @return Max distance, in blocks, between the centers of a source chunk and a chunk its tunnels carve into
+     */
+    private static double getMaxSourceDistance(boolean addRooms) {
+        // Tunnels are less than 3 wide, or up to 4 times that when widened. Rooms are less than 7 wide.
+        double maxWidth = addRooms ? 12.0D : 3.0D;
+
+        // Branches start a step behind their parent tunnel, and a tunnel may start up to 8 blocks along each axis
+        // from the center of its source chunk
+        return MAX_TUNNEL_LENGTH + 2 + maxWidth + 18.0D + Math.sqrt(8 * 8 + 8 * 8);
+    }
+
+    /**
+     * Carves the tunnels of all chunks within reach of this chunk, up to a certain square range (default 8).
+     * Each of those chunks' tunnels is traced once and cached, then replayed for every chunk it might reach.
+     * Source chunks whose tunnels all start too far away to reach this chunk are skipped before their trace is
+     * looked up, so their tunnels are neither traced nor replayed.
+     * @param seed The world seed
+     * @param biomeView Biome view for the world the chunk is in
+     */
+    public void generate(long seed, IBiomeView biomeView, int chunkX, int chunkZ, ChunkPrimer primer, boolean addRooms, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
+        // Center block of the origin chunk
+        double originBlockX = (chunkX * 16 + 8);
+        double originBlockZ = (chunkZ * 16 + 8);
+
+        // Without a cache, each source chunk is traced from scratch, reusing a single trace
+        TunnelTrace uncachedTrace = traceCache == null ? new TunnelTrace(seed, addRooms) : null;
+        CaveStartTable startTable = null;
+        ChunkColumns columns = new ChunkColumns(biomeView, chunkX, chunkZ, isFloodedUndergroundEnabled);
+
+        int[] sourceOffsets = addRooms ? sourcesWithRooms : sourcesWithoutRooms;
+        for (int source = 0; source < sourceOffsets.length; source += 2) {
+            int sourceChunkX = chunkX + sourceOffsets[source];
+            int sourceChunkZ = chunkZ + sourceOffsets[source + 1];
+            if (startTable == null || !startTable.contains(sourceChunkX, sourceChunkZ))
+                startTable = getStartTable(seed, addRooms, sourceChunkX, sourceChunkZ);
+            if (!mayReach(startTable, sourceChunkX, sourceChunkZ, originBlockX, originBlockZ))
+                continue;
+
+            TunnelTrace trace;
+            if (uncachedTrace != null) {
+                uncachedTrace.clear();
+                trace = traceChunk(uncachedTrace, sourceChunkX, sourceChunkZ, startTable);
+            } else {
+                trace = traceCache.get(seed, addRooms, sourceChunkX, sourceChunkZ, traceFunction);
+            }
+            this.carveTrace(trace, columns, chunkX, chunkZ, primer, liquidBlocks, carvingMask);
+        }
+    }
+
+    public void generate(long seed, IBiomeView biomeView, int x, int z, ChunkPrimer primer, boolean addRooms, IBlockState[][] liquidBlocks) {
         boolean[][] carvingMask = new boolean[16][16];
         for (boolean[] row : carvingMask)
             Arrays.fill(row, true);
-        generate(worldIn, x, z, primer, addRooms, liquidBlocks, carvingMask);
+        generate(seed, biomeView, x, z, primer, addRooms, liquidBlocks, carvingMask);
     }
 
     /**
-     * Calls addTunnel and addRoom (wrapper for addTunnel) for this chunk.
-     * Note that each call to this function (and subsequently addTunnel) will be done with the same rand seed.
+     * Cheap check for whether any tunnel starting in a source chunk could carve into the chunk being carved, made
+     * from the source chunk's starts alone.
+     *
+     * A tunnel's center moves at most one block horizontally per step, and its branches start from the tunnel and
+     * take no more steps than it has left. A segment only carves into a chunk if its center is within
+     * 16 + 2 * radius blocks of the chunk's center on both axes, and a tunnel's radius is at most 1.5 + width.
+     * Branches are only made by tunnels wider than 1, and are at most 1 wide themselves.
+     * If no start passes, every tunnel family of the source chunk is counted as culled.
+     * @param startTable Tunnel starts of the region containing the source chunk
+     * @return false if no tunnel of the source chunk can carve into the chunk centered on the given block
+     */
+    private static boolean mayReach(CaveStartTable startTable, int sourceChunkX, int sourceChunkZ, double originBlockX, double originBlockZ) {
+        int firstStart = startTable.getFirstStart(sourceChunkX, sourceChunkZ);
+        int endStart = startTable.getEndStart(sourceChunkX, sourceChunkZ);
+        for (int start = firstStart; start < endStart; start++) {
+            double reach = 16.0D + (1.5D + startTable.getWidth(start)) * 2.0D;
+            double outsideX = Math.max(Math.abs(sourceChunkX * 16 + startTable.getLocalX(start) - originBlockX) - reach, 0);
+            double outsideZ = Math.max(Math.abs(sourceChunkZ * 16 + startTable.getLocalZ(start) - originBlockZ) - reach, 0);
+
+            // Rooms start halfway along their tunnel. Allow some slack for the rounding of MathHelper's sine table.
+            int maxSteps = startTable.isRoom(start) ? MAX_TUNNEL_LENGTH - MAX_TUNNEL_LENGTH / 2 : MAX_TUNNEL_LENGTH;
+            double maxTravel = maxSteps * 1.001D + 1;
+            if (outsideX * outsideX + outsideZ * outsideZ <= maxTravel * maxTravel)
+                return true;
+        }
+        GenerationStats.add(GenerationCounter.TUNNELS_CULLED, endStart - firstStart);
+        return false;
+    }
+
+    /**
+     * Traces all tunnels starting in a chunk.
+     * @param trace Empty trace to add the chunk's tunnels to
+     * @param startTable Tunnel starts of the region containing the chunk
+     */
+    private TunnelTrace traceChunk(TunnelTrace trace, int chunkX, int chunkZ, CaveStartTable startTable) {
+        int endStart = startTable.getEndStart(chunkX, chunkZ);
+        for (int start = startTable.getFirstStart(chunkX, chunkZ); start < endStart; start++) {
+            double caveStartX = chunkX * 16 + startTable.getLocalX(start);
+            double caveStartY = startTable.getY(start);
+            double caveStartZ = chunkZ * 16 + startTable.getLocalZ(start);
+            long tunnelSeed = startTable.getTunnelSeed(start);
+
+            if (startTable.isRoom(start)) {
+                this.addRoom(trace, tunnelSeed, caveStartX, caveStartY, caveStartZ, startTable.getWidth(start));
+            } else {
+                this.addTunnel(trace, tunnelSeed, caveStartX, caveStartY, caveStartZ, startTable.getWidth(start), startTable.getYaw(start), startTable.getPitch(start), 0, 0, 1.0D, false);
+            }
+        }
+        return trace;
+    }
+
+    /**
+     * @return The tunnel starts of the region containing a source chunk
+     */
+    private CaveStartTable getStartTable(long seed, boolean addRooms, int chunkX, int chunkZ) {
+        return startTableCache.get(seed, addRooms, chunkX, chunkZ, tableFunction);
+    }
+
+    /**
+     * Draws the tunnel starts of every source chunk in a region, seeding each chunk's Random the same way MapGenBase does.
+     * Package-private for CaveStartTableBenchmark.
+     */
+    CaveStartTable computeStartTable(long seed, boolean addRooms, int regionX, int regionZ) {
+        CaveStartTable startTable = new CaveStartTable(seed, addRooms, regionX, regionZ);
+        Random rand = new Random(seed);
+        long xMultiplier = rand.nextLong();
+        long zMultiplier = rand.nextLong();
+
+        for (int chunk = 0; chunk < CaveStartTable.CHUNK_COUNT; chunk++) {
+            int chunkX = startTable.getChunkX(chunk);
+            int chunkZ = startTable.getChunkZ(chunk);
+            rand.setSeed((long) chunkX * xMultiplier ^ (long) chunkZ * zMultiplier ^ seed);
+            this.recursiveGenerate(rand, startTable, addRooms);
+            startTable.endChunk(chunk);
+        }
+        return startTable.trim();
+    }
+
+    /**
+     * Draws the starts of addTunnel and addRoom (wrapper for addTunnel) for a chunk, adding them to the table.
+     * Note that each call to this function will be done with the same rand seed for a given chunk.
      * This means that when a chunk is checked multiple times by different neighbor chunks, each time it will be processed
      * the same way, ensuring the tunnels are always consistent and connecting.
      */
-    protected void recursiveGenerate(int chunkX, int chunkZ, int originalChunkX, int originalChunkZ, @Nonnull ChunkPrimer primer, boolean addRooms, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
-        int numAttempts = this.rand.nextInt(this.rand.nextInt(this.rand.nextInt(15) + 1) + 1);
+    protected void recursiveGenerate(Random rand, CaveStartTable startTable, boolean addRooms) {
+        int numAttempts = rand.nextInt(rand.nextInt(rand.nextInt(15) + 1) + 1);
 
-        if (this.rand.nextInt(100) > this.density) {
+        if (rand.nextInt(100) > this.density) {
             numAttempts = 0;
         }
 
         for (int i = 0; i < numAttempts; ++i) {
-            double caveStartX = chunkX * 16 + this.rand.nextInt(16);
-            double caveStartY = this.rand.nextInt(this.topY - this.bottomY) + this.bottomY;
-            double caveStartZ = chunkZ * 16 + this.rand.nextInt(16);
+            int caveStartX = rand.nextInt(16);
+            int caveStartY = rand.nextInt(this.topY - this.bottomY) + this.bottomY;
+            int caveStartZ = rand.nextInt(16);
 
             int numAddTunnelCalls = 1;
 
-            if (addRooms && this.rand.nextInt(4) == 0) {
-                this.addRoom(this.rand.nextLong(), originalChunkX, originalChunkZ, primer, caveStartX, caveStartY, caveStartZ, liquidBlocks, carvingMask);
-                numAddTunnelCalls += this.rand.nextInt(4);
+            if (addRooms && rand.nextInt(4) == 0) {
+                long roomSeed = rand.nextLong();
+                startTable.addStart(caveStartX, caveStartY, caveStartZ, true, 1.0F + rand.nextFloat() * 6.0F, 0.0F, 0.0F, roomSeed);
+                numAddTunnelCalls += rand.nextInt(4);
             }
 
             for (int j = 0; j < numAddTunnelCalls; ++j) {
-                float yaw = this.rand.nextFloat() * ((float) Math.PI * 2F);
-                float pitch = (this.rand.nextFloat() - 0.5F) * 2.0F / 8.0F;
-                float width = this.rand.nextFloat() * 2.0F + this.rand.nextFloat();
+                float yaw = rand.nextFloat() * ((float) Math.PI * 2F);
+                float pitch = (rand.nextFloat() - 0.5F) * 2.0F / 8.0F;
+                float width = rand.nextFloat() * 2.0F + rand.nextFloat();
 
                 // Chance of wider caves.
                 // Although not actually related to adding rooms, I perform an addRoom check here
                 // to avoid the chance of really large caves when generating surface caves.
-                if (addRooms && this.rand.nextInt(10) == 0) {
-                    width *= this.rand.nextFloat() * this.rand.nextFloat() * 3.0F + 1.0F;
+                if (addRooms && rand.nextInt(10) == 0) {
+                    width *= rand.nextFloat() * rand.nextFloat() * 3.0F + 1.0F;
                 }
 
-                this.addTunnel(this.rand.nextLong(), originalChunkX, originalChunkZ, primer, caveStartX, caveStartY, caveStartZ, width, yaw, pitch, 0, 0, 1.0D, liquidBlocks, carvingMask);
+                startTable.addStart(caveStartX, caveStartY, caveStartZ, false, width, yaw, pitch, rand.nextLong());
             }
         }
     }
@@ -131,18 +315,20 @@ public class VanillaCaveCarver extends MapGenCaves implements ICarver {
         return this.topY;
     }
 
-    protected void addRoom(long seed, int originChunkX, int originChunkZ, ChunkPrimer primer, double caveStartX, double caveStartY, double caveStartZ, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
-        this.addTunnel(seed, originChunkX, originChunkZ, primer, caveStartX, caveStartY, caveStartZ, 1.0F + this.rand.nextFloat() * 6.0F, 0.0F, 0.0F, -1, -1, 0.5D, liquidBlocks, carvingMask);
+    protected void addRoom(TunnelTrace trace, long seed, double caveStartX, double caveStartY, double caveStartZ, float width) {
+        this.addTunnel(trace, seed, caveStartX, caveStartY, caveStartZ, width, 0.0F, 0.0F, -1, -1, 0.5D, false);
     }
 
-    protected void addTunnel(long seed, int originChunkX, int originChunkZ, ChunkPrimer primer, double caveStartX, double caveStartY, double caveStartZ, float width, float yaw, float pitch, int startCounter, int endCounter, double heightModifier, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
-        IBlockState liquidBlock;
+    /**
+     * Traces a tunnel, adding every segment that may carve to the trace.
+     * Vanilla stops a tunnel once it can no longer reach the chunk being carved. Since a trace may be replayed for
+     * every chunk the tunnel might reach, the whole tunnel is traced here, and that check is made when the trace is
+     * carved.
+     * @param isBranch true if this tunnel branches off of another tunnel
+     */
+    protected void addTunnel(TunnelTrace trace, long seed, double caveStartX, double caveStartY, double caveStartZ, float width, float yaw, float pitch, int startCounter, int endCounter, double heightModifier, boolean isBranch) {
         Random random = new Random(seed);
 
-        // Center block of the origin chunk
-        double originBlockX = (originChunkX * 16 + 8);
-        double originBlockZ = (originChunkZ * 16 + 8);
-
         // Variables to slightly change the yaw/pitch for each iteration in the while loop below.
         float yawModifier = 0.0F;
         float pitchModifier = 0.0F;
@@ -152,7 +338,7 @@ public class VanillaCaveCarver extends MapGenCaves implements ICarver {
 
         // This appears to be called regardless of where addTunnel was called from.
         if (endCounter <= 0) {
-            int i = this.range * 16 - 16;
+            int i = RANGE * 16 - 16;
             endCounter = i - random.nextInt(i / 4);
         }
 
@@ -167,6 +353,8 @@ public class VanillaCaveCarver extends MapGenCaves implements ICarver {
             comesFromRoom = true;
         }
 
+        trace.beginTunnel(isBranch, comesFromRoom);
+
         int randomCounterValue = random.nextInt(endCounter / 2) + endCounter / 4;
 
         // Loops one block at a time to the endCounter (about 6-7 chunks away on average).
@@ -202,126 +390,193 @@ public class VanillaCaveCarver extends MapGenCaves implements ICarver {
             yawModifier = yawModifier + (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 4.0F;
 
             if (!comesFromRoom && startCounter == randomCounterValue && width > 1.0F && endCounter > 0) {
-                this.addTunnel(random.nextLong(), originChunkX, originChunkZ, primer, caveStartX, caveStartY, caveStartZ, random.nextFloat() * 0.5F + 0.5F, yaw - ((float) Math.PI / 2F), pitch / 3.0F, startCounter, endCounter, 1.0D, liquidBlocks, carvingMask);
-                this.addTunnel(random.nextLong(), originChunkX, originChunkZ, primer, caveStartX, caveStartY, caveStartZ, random.nextFloat() * 0.5F + 0.5F, yaw + ((float) Math.PI / 2F), pitch / 3.0F, startCounter, endCounter, 1.0D, liquidBlocks, carvingMask);
+                this.addTunnel(trace, random.nextLong(), caveStartX, caveStartY, caveStartZ, random.nextFloat() * 0.5F + 0.5F, yaw - ((float) Math.PI / 2F), pitch / 3.0F, startCounter, endCounter, 1.0D, true);
+                this.addTunnel(trace, random.nextLong(), caveStartX, caveStartY, caveStartZ, random.nextFloat() * 0.5F + 0.5F, yaw + ((float) Math.PI / 2F), pitch / 3.0F, startCounter, endCounter, 1.0D, true);
                 return;
             }
 
             if (comesFromRoom || random.nextInt(4) != 0) {
+                trace.addSegment(caveStartX, caveStartY, caveStartZ, xzOffset, yOffset, endCounter - startCounter, width + 2.0F + 16.0F);
+            }
+            startCounter++;
+        }
+    }
+
+    /**
+     * Carves a source chunk's traced tunnels into the chunk being carved, making the same checks vanilla makes
+     * while tracing them. Every segment replayed is counted, whether or not the trace came from the cache, so
+     * segment counts measure the work of carving a chunk rather than how often the cache misses.
+     */
+    private void carveTrace(TunnelTrace trace, ChunkColumns columns, int originChunkX, int originChunkZ, ChunkPrimer primer, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
+        double[] segments = trace.getSegments();
+
+        // Center block of the origin chunk
+        double originBlockX = (originChunkX * 16 + 8);
+        double originBlockZ = (originChunkZ * 16 + 8);
+
+        // Whether the most recent tunnel that isn't a branch stopped before reaching the point where it branches
+        boolean parentStopped = false;
+
+        for (int tunnel = 0; tunnel < trace.getTunnelCount(); tunnel++) {
+            boolean isBranch = trace.isBranch(tunnel);
+            if (isBranch && parentStopped)
+                continue;
+            if (!trace.mayReach(trace.getFamily(tunnel), originBlockX, originBlockZ)) {
+                if (!isBranch)
+                    GenerationStats.increment(GenerationCounter.TUNNELS_CULLED);
+                continue;
+            }
+
+            boolean stopped = false;
+            for (int i = trace.getTunnelStart(tunnel); i < trace.getTunnelEnd(tunnel); i++) {
+                GenerationStats.increment(GenerationCounter.TUNNEL_SEGMENTS);
+
+                int segment = i * TunnelTrace.SEGMENT_STRIDE;
+                double caveStartX = segments[segment + TunnelTrace.X];
+                double caveStartY = segments[segment + TunnelTrace.Y];
+                double caveStartZ = segments[segment + TunnelTrace.Z];
+                double xzOffset = segments[segment + TunnelTrace.XZ_RADIUS];
+                double yOffset = segments[segment + TunnelTrace.Y_RADIUS];
+
                 double caveStartXOffsetFromCenter = caveStartX - originBlockX; // Number of blocks from current caveStartX to center of origin chunk
                 double caveStartZOffsetFromCenter = caveStartZ - originBlockZ; // Number of blocks from current caveStartZ to center of origin chunk
-                double distanceToEnd = endCounter - startCounter;
-                double d7 = width + 2.0F + 16.0F;
+                double distanceToEnd = segments[segment + TunnelTrace.DISTANCE_TO_END];
+                double d7 = segments[segment + TunnelTrace.MAX_DISTANCE];
 
                 // I think this prevents caves from generating too far from the origin chunk
                 if (caveStartXOffsetFromCenter * caveStartXOffsetFromCenter + caveStartZOffsetFromCenter * caveStartZOffsetFromCenter - distanceToEnd * distanceToEnd > d7 * d7) {
-                    return;
+                    stopped = true;
+                    break;
                 }
 
                 // Only continue if cave start is close enough to origin
                 if (caveStartX >= originBlockX - 16.0D - xzOffset * 2.0D && caveStartZ >= originBlockZ - 16.0D - xzOffset * 2.0D && caveStartX <= originBlockX + 16.0D + xzOffset * 2.0D && caveStartZ <= originBlockZ + 16.0D + xzOffset * 2.0D) {
-                    int minX = MathHelper.floor(caveStartX - xzOffset) - originChunkX * 16 - 1;
-                    int minY = MathHelper.floor(caveStartY - yOffset) - 1;
-                    int minZ = MathHelper.floor(caveStartZ - xzOffset) - originChunkZ * 16 - 1;
-                    int maxX = MathHelper.floor(caveStartX + xzOffset) - originChunkX * 16 + 1;
-                    int maxY = MathHelper.floor(caveStartY + yOffset) + 1;
-                    int maxZ = MathHelper.floor(caveStartZ + xzOffset) - originChunkZ * 16 + 1;
-
-                    if (minX < 0) {
-                        minX = 0;
-                    }
+                    this.carveSegment(columns, originChunkX, originChunkZ, primer, caveStartX, caveStartY, caveStartZ, xzOffset, yOffset, liquidBlocks, carvingMask);
 
-                    if (maxX > 16) {
-                        maxX = 16;
-                    }
-
-                    if (minY < 1) {
-                        minY = 1;
+                    // Rooms only carve their first segment that is close enough
+                    if (trace.isRoom(tunnel)) {
+                        break;
                     }
+                }
+            }
 
-                    if (maxY > 248) {
-                        maxY = 248;
-                    }
+            if (!isBranch)
+                parentStopped = stopped;
+        }
+    }
 
-                    if (minZ < 0) {
-                        minZ = 0;
-                    }
+    /**
+     * Carves a single ellipsoid segment of a tunnel into the chunk being carved.
+     *
+     * The segment is carved one column at a time. Within a column, the blocks inside the ellipsoid form a single
+     * span of y-coordinates, so the span's ends are found first and only the blocks in between are visited.
+     * Blocks are dug in the same order as vanilla: by x, then z, then from the top of the column down.
+     */
+    private void carveSegment(ChunkColumns columns, int originChunkX, int originChunkZ, ChunkPrimer primer, double caveStartX, double caveStartY, double caveStartZ, double xzOffset, double yOffset, IBlockState[][] liquidBlocks, boolean[][] carvingMask) {
+        int minX = MathHelper.floor(caveStartX - xzOffset) - originChunkX * 16 - 1;
+        int minY = MathHelper.floor(caveStartY - yOffset) - 1;
+        int minZ = MathHelper.floor(caveStartZ - xzOffset) - originChunkZ * 16 - 1;
+        int maxX = MathHelper.floor(caveStartX + xzOffset) - originChunkX * 16 + 1;
+        int maxY = MathHelper.floor(caveStartY + yOffset) + 1;
+        int maxZ = MathHelper.floor(caveStartZ + xzOffset) - originChunkZ * 16 + 1;
+
+        if (minX < 0) {
+            minX = 0;
+        }
 
-                    if (maxZ > 16) {
-                        maxZ = 16;
-                    }
+        if (maxX > 16) {
+            maxX = 16;
+        }
 
-                    for (int currX = minX; currX < maxX; ++currX) {
-                        // Distance along the x-axis from the center (caveStart) of this ellipsoid.
-                        // You can think of this value as (x/a), where a is the length of the ellipsoid's semi-axis in the x direction.
-                        double xAxisDist = ((double) (currX + originChunkX * 16) + 0.5D - caveStartX) / xzOffset;
-
-                        for (int currZ = minZ; currZ < maxZ; ++currZ) {
-                            // Distance along the z-axis from the center (caveStart) of this ellipsoid.
-                            // You can think of this value as (z/b), where b is the length of the ellipsoid's semi-axis in the z direction (same as a in this case).
-                            double zAxisDist = ((double) (currZ + originChunkZ * 16) + 0.5D - caveStartZ) / xzOffset;
-
-                            // Skip column if carving mask not set
-                            if (!carvingMask[currX][currZ])
-                                continue;
-
-                            // Only operate on points within ellipse on XZ axis. Avoids unnecessary computation along y axis
-                            if (xAxisDist * xAxisDist + zAxisDist * zAxisDist < 1.0D) {
-                                for (int currY = maxY; currY > minY; --currY) {
-                                    // Distance along the y-axis from the center (caveStart) of this ellipsoid.
-                                    // You can think of this value as (y/c), where c is the length of the ellipsoid's semi-axis in the y direction.
-                                    double yAxisDist = ((double) (currY - 1) + 0.5D - caveStartY) / yOffset;
-
-                                    // Only operate on points within the ellipsoid.
-                                    // This conditional is validating the current coordinate against the equation of the ellipsoid, that is,
-                                    // (x/a)^2 + (z/b)^2 + (y/c)^2 <= 1.
-                                    if (yAxisDist > -0.7D && xAxisDist * xAxisDist + yAxisDist * yAxisDist + zAxisDist * zAxisDist < 1.0D) {
-                                        liquidBlock = liquidBlocks[BetterCavesUtils.getLocal(currX)][BetterCavesUtils.getLocal(currZ)];
-                                        if (this.isDebugVisualizerEnabled)
-                                            CarverUtils.debugDigBlock(primer, currX, currY, currZ, debugBlock, true);
-                                        else
-                                            digBlock(world, primer, originChunkX, originChunkZ, currX, currY, currZ, liquidBlock, this.liquidAltitude, this.isReplaceGravel);
-                                    } else {
-                                        if (this.isDebugVisualizerEnabled)
-                                            CarverUtils.debugDigBlock(primer, currX, currY, currZ, debugBlock, false);
-                                    }
-                                }
-                            }
-                        }
-                    }
+        if (minY < 1) {
+            minY = 1;
+        }
 
-                    if (comesFromRoom) {
-                        break;
-                    }
-                }
-            }
-            startCounter++;
+        if (maxY > 248) {
+            maxY = 248;
         }
-    }
 
-    private void digBlock(World world, ChunkPrimer primer, int chunkX, int chunkZ, int localX, int y, int localZ, IBlockState liquidBlockState, int liquidAltitude, boolean replaceGravel) {
-        BlockPos pos = new BlockPos(chunkX * 16 + localX, y, chunkZ * 16 + localZ);
+        if (minZ < 0) {
+            minZ = 0;
+        }
 
-        // Don't dig boundaries between flooded and unflooded openings.
-        boolean flooded = isFloodedUndergroundEnabled && !isDebugVisualizerEnabled && BiomeDictionary.hasType(world.getBiome(pos), BiomeDictionary.Type.OCEAN) && y < world.getSeaLevel();
+        if (maxZ > 16) {
+            maxZ = 16;
+        }
 
-        if (flooded) {
-            if (
-                !BiomeDictionary.hasType(world.getBiome(pos.east()), BiomeDictionary.Type.OCEAN) ||
-                !BiomeDictionary.hasType(world.getBiome(pos.north()), BiomeDictionary.Type.OCEAN) ||
-                !BiomeDictionary.hasType(world.getBiome(pos.west()), BiomeDictionary.Type.OCEAN) ||
-                !BiomeDictionary.hasType(world.getBiome(pos.south()), BiomeDictionary.Type.OCEAN)
-            ) {
-                return;
+        for (int currX = minX; currX < maxX; ++currX) {
+            // Distance along the x-axis from the center (caveStart) of this ellipsoid.
+            // You can think of this value as (x/a), where a is the length of the ellipsoid's semi-axis in the x direction.
+            double xAxisDist = ((double) (currX + originChunkX * 16) + 0.5D - caveStartX) / xzOffset;
+
+            for (int currZ = minZ; currZ < maxZ; ++currZ) {
+                // Distance along the z-axis from the center (caveStart) of this ellipsoid.
+                // You can think of this value as (z/b), where b is the length of the ellipsoid's semi-axis in the z direction (same as a in this case).
+                double zAxisDist = ((double) (currZ + originChunkZ * 16) + 0.5D - caveStartZ) / xzOffset;
+
+                // Skip column if carving mask not set
+                if (!carvingMask[currX][currZ])
+                    continue;
+
+                // Only operate on points within ellipse on XZ axis. Avoids unnecessary computation along y axis
+                double xzDistSq = xAxisDist * xAxisDist + zAxisDist * zAxisDist;
+                if (xzDistSq >= 1.0D)
+                    continue;
+
+                // Estimate the span from the ellipsoid's equation, then settle its ends with the exact check,
+                // so rounding never changes which blocks are dug
+                double yAxisExtent = Math.sqrt(1.0D - xzDistSq);
+                int columnTopY = MathHelper.clamp(MathHelper.floor(caveStartY + 0.5D + yAxisExtent * yOffset), minY, maxY);
+                while (columnTopY < maxY && isInsideEllipsoid(xAxisDist, zAxisDist, columnTopY + 1, caveStartY, yOffset))
+                    ++columnTopY;
+                while (columnTopY > minY && !isInsideEllipsoid(xAxisDist, zAxisDist, columnTopY, caveStartY, yOffset))
+                    --columnTopY;
+
+                int columnBottomY = MathHelper.clamp(MathHelper.ceil(caveStartY + 0.5D - Math.min(yAxisExtent, 0.7D) * yOffset), minY + 1, columnTopY + 1);
+                while (columnBottomY - 1 > minY && isInsideEllipsoid(xAxisDist, zAxisDist, columnBottomY - 1, caveStartY, yOffset))
+                    --columnBottomY;
+                while (columnBottomY <= columnTopY && !isInsideEllipsoid(xAxisDist, zAxisDist, columnBottomY, caveStartY, yOffset))
+                    ++columnBottomY;
+
+                if (this.isDebugVisualizerEnabled) {
+                    for (int currY = maxY; currY > minY; --currY)
+                        CarverUtils.debugDigBlock(primer, currX, currY, currZ, debugBlock, currY <= columnTopY && currY >= columnBottomY);
+                } else if (columnBottomY <= columnTopY) {
+                    digColumn(columns, primer, currX, currZ, columnBottomY, columnTopY, liquidBlocks[currX][currZ]);
+                }
             }
         }
+    }
 
-        IBlockState airBlockState = flooded ? Blocks.WATER.getDefaultState() : Blocks.AIR.getDefaultState();
-        CarverUtils.digBlock(world, primer, pos, airBlockState, liquidBlockState, liquidAltitude, replaceGravel);
+    /**
+     * Validates a block against the equation of the ellipsoid, that is, (x/a)^2 + (z/b)^2 + (y/c)^2 <= 1,
+     * exactly as vanilla does. The bottom of the ellipsoid is flattened.
+     */
+    private static boolean isInsideEllipsoid(double xAxisDist, double zAxisDist, int currY, double caveStartY, double yOffset) {
+        // Distance along the y-axis from the center (caveStart) of this ellipsoid.
+        // You can think of this value as (y/c), where c is the length of the ellipsoid's semi-axis in the y direction.
+        double yAxisDist = ((double) (currY - 1) + 0.5D - caveStartY) / yOffset;
+        return yAxisDist > -0.7D && xAxisDist * xAxisDist + yAxisDist * yAxisDist + zAxisDist * zAxisDist < 1.0D;
     }
 
-    @Override
-    protected boolean isOceanBlock(ChunkPrimer data, int x, int y, int z, int chunkX, int chunkZ) {
-        return false;
+    /**
+     * Digs a span of blocks in a single column, from the top down.
+     */
+    private void digColumn(ChunkColumns columns, ChunkPrimer primer, int localX, int localZ, int columnBottomY, int columnTopY, IBlockState liquidBlockState) {
+        Biome biome = columns.getBiome(localX, localZ);
+
+        // Below sea level, ocean columns are flooded. Don't dig boundaries between flooded and unflooded openings.
+        int floodedY = columns.isOcean(localX, localZ) ? columns.getSeaLevel() : Integer.MIN_VALUE;
+        boolean floodBoundary = floodedY != Integer.MIN_VALUE && columns.isFloodBoundary(localX, localZ);
+
+        for (int y = columnTopY; y >= columnBottomY; --y) {
+            if (y < floodedY) {
+                if (floodBoundary)
+                    continue;
+                CarverUtils.digBlock(primer, biome, localX, y, localZ, WATER, liquidBlockState, this.liquidAltitude, this.isReplaceGravel);
+            } else {
+                CarverUtils.digBlock(primer, biome, localX, y, localZ, AIR, liquidBlockState, this.liquidAltitude, this.isReplaceGravel);
+            }
+        }
     }
 }
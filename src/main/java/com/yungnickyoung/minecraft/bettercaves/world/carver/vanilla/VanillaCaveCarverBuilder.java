@@ -1,5 +1,6 @@
 package com.yungnickyoung.minecraft.bettercaves.world.carver.vanilla;
 
+import com.yungnickyoung.minecraft.bettercaves.config.BCSettings;
 import net.minecraft.block.state.IBlockState;
 
 public class VanillaCaveCarverBuilder {
@@ -8,7 +9,9 @@ public class VanillaCaveCarverBuilder {
         topY     = 1,
         density  = 0,
         priority = 0,
-        liquidAltitude = 10;
+        liquidAltitude = 10,
+        traceCacheSize = BCSettings.TUNNEL_TRACE_CACHE_SIZE,
+        searchRadius = 0;
     private IBlockState debugBlock;
     private boolean
         isDebugVisualizerEnabled,
@@ -83,6 +86,25 @@ public class VanillaCaveCarverBuilder {
         return this;
     }
 
+    /**
+     * @param traceCacheSize Number of source chunks whose traced tunnels are cached. Set to 0 to trace tunnels
+     *                       from scratch for every chunk carved.
+     */
+    public VanillaCaveCarverBuilder traceCacheSize(int traceCacheSize) {
+        this.traceCacheSize = traceCacheSize;
+        return this;
+    }
+
+    /**
+     * @param searchRadius Radius, in chunks, of the circle of source chunks checked for tunnels reaching the chunk
+     *                     being carved. Set to 0 to use the smallest radius that still finds every tunnel.
+     *                     Smaller radii cut off tunnels, and the search never extends past vanilla's range of 8.
+     */
+    public VanillaCaveCarverBuilder searchRadius(int searchRadius) {
+        this.searchRadius = searchRadius;
+        return this;
+    }
+
 
     /* ================================== Builder Getters ================================== */
     public int getBottomY() {
@@ -120,4 +142,12 @@ public class VanillaCaveCarverBuilder {
     public boolean isFloodedUndergroundEnabled() {
         return isFloodedUndergroundEnabled;
     }
+
+    public int getTraceCacheSize() {
+        return traceCacheSize;
+    }
+
+    public int getSearchRadius() {
+        return searchRadius;
+    }
 }
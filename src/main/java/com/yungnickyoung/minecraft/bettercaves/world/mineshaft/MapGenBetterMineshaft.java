@@ -4,6 +4,7 @@ import com.yungnickyoung.minecraft.bettercaves.config.util.ConfigHolder;
 import com.yungnickyoung.minecraft.bettercaves.config.io.ConfigLoader;
 import com.yungnickyoung.minecraft.bettercaves.util.BetterCavesUtils;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.biome.BiomeMesa;
@@ -29,12 +30,22 @@ public class MapGenBetterMineshaft extends MapGenMineshaft {
         this.defaultMineshaftGen = event.getOriginalGen();
     }
 
+    /**
+     * Maps saved mineshafts to {@link StructureBetterMineshaftStart}, replacing vanilla's mapping.
+     * Must be called exactly once, during mod initialization.
+     *
+     * Mineshafts of every dimension are loaded through this mapping, including ones vanilla generated in dimensions
+     * that aren't whitelisted. Loading one only reads back its saved pieces, so it behaves exactly like vanilla's.
+     */
+    public static void registerStructures() {
+        MapGenStructureIO.registerStructure(StructureBetterMineshaftStart.class, "Mineshaft");
+    }
+
     @Override
     protected StructureStart getStructureStart(int chunkX, int chunkZ) {
-        MapGenStructureIO.registerStructure(StructureBetterMineshaftStart.class, "Mineshaft");
         Biome biome = this.world.getBiome(new BlockPos((chunkX << 4) + 8, 64, (chunkZ << 4) + 8));
         MapGenMineshaft.Type mapgenmineshaft$type = biome instanceof BiomeMesa ? MapGenMineshaft.Type.MESA : MapGenMineshaft.Type.NORMAL;
-        return new StructureBetterMineshaftStart(this.world, this.rand, chunkX, chunkZ, mapgenmineshaft$type);
+        return new StructureBetterMineshaftStart(this.world, this.rand, chunkX, chunkZ, mapgenmineshaft$type, this.liquidAltitude);
     }
 
 
@@ -53,6 +64,26 @@ public class MapGenBetterMineshaft extends MapGenMineshaft {
         super.generate(worldIn, x, z, primer);
     }
 
+    @Override
+    public synchronized boolean generateStructure(World worldIn, Random randomIn, ChunkPos chunkCoord) {
+        // Only operate on whitelisted dimensions.
+        if (BetterCavesUtils.isDimensionWhitelisted(worldIn.provider.getDimension())) {
+            if (world == null) { // First call - lazy initialization
+                this.initialize(worldIn);
+            }
+
+            // Mineshafts saved before Better Caves was installed or the dimension was whitelisted were never pruned.
+            // Pruning each loaded mineshaft once is cheap, and nothing is done for mineshafts that are already pruned.
+            this.initializeStructureData(worldIn);
+            for (StructureStart start : this.structureMap.values()) {
+                if (start instanceof StructureBetterMineshaftStart)
+                    ((StructureBetterMineshaftStart) start).prune(liquidAltitude);
+            }
+        }
+
+        return super.generateStructure(worldIn, randomIn, chunkCoord);
+    }
+
     private void initialize(World worldIn) {
         this.world = worldIn;
         // Load config for this dimension
@@ -60,17 +91,37 @@ public class MapGenBetterMineshaft extends MapGenMineshaft {
         this.liquidAltitude = config.liquidAltitude.get();
     }
 
-    private class StructureBetterMineshaftStart extends StructureMineshaftStart {
-        public StructureBetterMineshaftStart(World worldIn, Random rand, int chunkX, int chunkZ, MapGenMineshaft.Type type) {
+    public static class StructureBetterMineshaftStart extends StructureMineshaftStart {
+        /** Whether pieces too close to the liquid altitude have been removed */
+        private boolean pruned;
+
+        /**
+         * Used when loading a saved mineshaft. Its pieces are pruned the first time a chunk is populated.
+         */
+        public StructureBetterMineshaftStart() {
+        }
+
+        public StructureBetterMineshaftStart(World worldIn, Random rand, int chunkX, int chunkZ, MapGenMineshaft.Type type, int liquidAltitude) {
             super(worldIn, rand, chunkX, chunkZ, type);
+
+            // Pieces are only moved to their final altitude once the whole mineshaft has been laid out, and leaving
+            // pieces out while laying it out would change the rest of the mineshaft. Instead, pieces too close to the
+            // liquid altitude are removed here, once, so they are never placed or saved, and aren't filtered again each
+            // time a chunk the mineshaft overlaps is populated.
+            prune(liquidAltitude);
         }
 
-        @Override
-        public void generateStructure(World worldIn, Random rand, StructureBoundingBox structurebb) {
-            components.removeIf(component ->
-                component.getBoundingBox().minY < liquidAltitude + 5 ||
-                        (component.getBoundingBox().intersectsWith(structurebb) && !component.addComponentParts(worldIn, rand, structurebb))
-            );
+        /**
+         * Removes pieces too close to the liquid altitude, and shrinks the mineshaft's bounds to the pieces left.
+         * Does nothing if the mineshaft has already been pruned.
+         */
+        private void prune(int liquidAltitude) {
+            if (pruned)
+                return;
+
+            components.removeIf(component -> component.getBoundingBox().minY < liquidAltitude + 5);
+            updateBoundingBox();
+            pruned = true;
         }
     }
 }